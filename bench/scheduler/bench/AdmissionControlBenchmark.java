@@ -0,0 +1,68 @@
+package scheduler.bench;
+
+import org.openjdk.jmh.annotations.*;
+import scheduler.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one {@link EdfAdmissionController} decision against a backlog of
+ * admitted tasks, next to a full EDF {@link Scheduler#schedule(List)} of the
+ * same workload:
+ *   java -jar target/benchmarks.jar AdmissionControlBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class AdmissionControlBenchmark {
+    
+    @Param({"10000", "100000"})
+    public int taskCount;
+    
+    @Param({"TIGHT", "LOOSE"})
+    public WorkloadGenerator.DeadlineSlack deadlineSlack;
+    
+    private List<Task> tasks;
+    private EdfAdmissionController controller;
+    private int[] bursts;
+    private int[] deadlines;
+    private int next;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Overloaded, so the controller ends up with a full backlog
+        tasks = new WorkloadGenerator(42L)
+            .utilization(1.5)
+            .deadlines(deadlineSlack)
+            .generate(taskCount);
+        controller = new EdfAdmissionController();
+        for (Task task : tasks) {
+            controller.tryAdmit(task);
+        }
+        // Candidates arriving now, with the workload's bursts and relative deadlines
+        bursts = new int[taskCount];
+        deadlines = new int[taskCount];
+        for (int i = 0; i < taskCount; i++) {
+            Task task = tasks.get(i);
+            bursts[i] = task.getBurstTime();
+            deadlines[i] = controller.currentTime() + task.getDeadline() - task.getArrivalTime();
+        }
+    }
+    
+    @Benchmark
+    public boolean canAdmit() {
+        int i = next;
+        next = i + 1 == bursts.length ? 0 : i + 1;
+        return controller.canAdmit(bursts[i], deadlines[i]);
+    }
+    
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public SchedulingResult scheduleAll() {
+        return new EarliestDeadlineFirstScheduler().schedule(tasks);
+    }
+}
@@ -0,0 +1,153 @@
+package scheduler.bench;
+
+import org.openjdk.jmh.annotations.*;
+import scheduler.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offer plus poll on the streaming ready queue of the six default streaming
+ * schedulers run in one JVM, as {@link SchedulerManager} does, against SJF
+ * alone. {@code COMPARATOR} is a {@code PriorityQueue} ordered by the
+ * {@code Comparator} chain each policy used to provide, whose key-extractor
+ * calls turn megamorphic once several policies have run; {@code PRIMITIVE_KEY}
+ * is the {@link KeyedTaskHeap} the engine uses, keyed by
+ * {@link SchedulingPolicy#getReadyQueueKey(Task)}. FCFS uses a plain deque
+ * either way. Every task passes through one policy's queue per invocation:
+ *   java -jar target/benchmarks.jar PolicyMixBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class PolicyMixBenchmark {
+    private static final int TASK_COUNT = 6 << 17;
+    
+    @Param({"COMPARATOR", "PRIMITIVE_KEY"})
+    public String queue;
+    
+    @Param({"SJF", "ALL"})
+    public String schedulers;
+    
+    @Param({"1000"})
+    public int backlog;
+    
+    private Task[] tasks;
+    private SchedulingPolicy[] policies;
+    private List<Comparator<Task>> orders;
+    private boolean primitiveKeys;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        tasks = new WorkloadGenerator(42L)
+            .deadlines(WorkloadGenerator.DeadlineSlack.LOOSE)
+            .priorityLevels(140)
+            .generate(TASK_COUNT)
+            .toArray(new Task[0]);
+        policies = schedulers.equals("ALL")
+            ? new SchedulingPolicy[] {
+                new FirstComeFirstServedScheduler(),
+                new ShortestJobFirstScheduler(),
+                new ShortestRemainingTimeFirstScheduler(),
+                new EarliestDeadlineFirstScheduler(),
+                new PriorityScheduler(false),
+                new PriorityScheduler(true)}
+            : new SchedulingPolicy[] {new ShortestJobFirstScheduler()};
+        orders = new ArrayList<>();
+        for (SchedulingPolicy policy : policies) {
+            orders.add(comparatorOrder(policy));
+        }
+        primitiveKeys = queue.equals("PRIMITIVE_KEY");
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(TASK_COUNT)
+    public long offerPoll() {
+        // Each policy takes an equal slice of the tasks
+        int slice = TASK_COUNT / policies.length;
+        long sum = 0;
+        for (int p = 0; p < policies.length; p++) {
+            SchedulingPolicy policy = policies[p];
+            int from = p * slice;
+            if (policy.isFifo()) {
+                sum += throughDeque(from, from + slice);
+            } else if (primitiveKeys) {
+                sum += throughKeyedHeap(policy, from, from + slice);
+            } else {
+                sum += throughPriorityQueue(orders.get(p), from, from + slice);
+            }
+        }
+        return sum;
+    }
+    
+    // The ready-queue order of each policy as a comparator chain; null for FCFS
+    private static Comparator<Task> comparatorOrder(SchedulingPolicy policy) {
+        if (policy instanceof ShortestJobFirstScheduler) {
+            return Comparator.comparingInt(Task::getBurstTime)
+                .thenComparingInt(Task::getArrivalTime);
+        }
+        if (policy instanceof ShortestRemainingTimeFirstScheduler) {
+            return Comparator.comparingInt(Task::getRemainingTime)
+                .thenComparingInt(Task::getArrivalTime);
+        }
+        if (policy instanceof EarliestDeadlineFirstScheduler) {
+            return Comparator.comparingInt((Task t) -> t.getDeadline() > 0 ? t.getDeadline() : Integer.MAX_VALUE)
+                .thenComparingInt(Task::getArrivalTime);
+        }
+        if (policy instanceof PriorityScheduler) {
+            return Comparator.comparingInt(Task::getPriority)
+                .thenComparingInt(Task::getArrivalTime);
+        }
+        return null;
+    }
+    
+    private long throughDeque(int from, int to) {
+        ArrayDeque<Task> readyQueue = new ArrayDeque<>(backlog + 1);
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            readyQueue.offer(tasks[i]);
+            if (readyQueue.size() > backlog) {
+                sum += readyQueue.poll().getId();
+            }
+        }
+        while (!readyQueue.isEmpty()) {
+            sum += readyQueue.poll().getId();
+        }
+        return sum;
+    }
+    
+    private long throughPriorityQueue(Comparator<Task> order, int from, int to) {
+        PriorityQueue<Task> readyQueue = new PriorityQueue<>(backlog + 1, order);
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            readyQueue.offer(tasks[i]);
+            if (readyQueue.size() > backlog) {
+                sum += readyQueue.poll().getId();
+            }
+        }
+        while (!readyQueue.isEmpty()) {
+            sum += readyQueue.poll().getId();
+        }
+        return sum;
+    }
+    
+    private long throughKeyedHeap(SchedulingPolicy policy, int from, int to) {
+        KeyedTaskHeap readyQueue = new KeyedTaskHeap(backlog + 1);
+        long sequence = 0;
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            Task task = tasks[i];
+            readyQueue.offer(task, policy.getReadyQueueKey(task), sequence++);
+            if (readyQueue.size() > backlog) {
+                sum += readyQueue.poll().getId();
+            }
+        }
+        while (!readyQueue.isEmpty()) {
+            sum += readyQueue.poll().getId();
+        }
+        return sum;
+    }
+}
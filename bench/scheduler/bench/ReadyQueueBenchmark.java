@@ -0,0 +1,61 @@
+package scheduler.bench;
+
+import org.openjdk.jmh.annotations.*;
+import scheduler.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offer plus poll on a ready queue holding a steady backlog of rows with
+ * small integer priorities, heap against buckets. Every row of the table
+ * passes through the queue once per invocation, in arrival order as in a run:
+ *   java -jar target/benchmarks.jar ReadyQueueBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ReadyQueueBenchmark {
+    private static final int TASK_COUNT = 1 << 20;
+    
+    @Param({"HEAP", "BUCKET"})
+    public String queue;
+    
+    @Param({"1000", "100000"})
+    public int backlog;
+    
+    @Param({"8", "140"})
+    public int priorityLevels;
+    
+    private TaskTable table;
+    private PriorityScheduler policy;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        table = new WorkloadGenerator(42L)
+            .priorityLevels(priorityLevels)
+            .generateTable(TASK_COUNT);
+        policy = new PriorityScheduler(false);
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(TASK_COUNT)
+    public int offerPoll() {
+        ReadyQueue readyQueue = queue.equals("BUCKET")
+            ? new BucketReadyQueue(policy, table, 0, priorityLevels - 1)
+            : new HeapReadyQueue(policy, table);
+        int sum = 0;
+        for (int row = 0; row < TASK_COUNT; row++) {
+            readyQueue.offer(row);
+            if (readyQueue.size() > backlog) {
+                sum += readyQueue.poll();
+            }
+        }
+        while (!readyQueue.isEmpty()) {
+            sum += readyQueue.poll();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,93 @@
+package scheduler.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import scheduler.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link Scheduler#schedule(List)} for every built-in scheduler
+ * 
+ * Run with the GC profiler to also get the allocation rate per operation:
+ *   java -jar target/benchmarks.jar SchedulerBenchmark -prof gc
+ * or narrow the parameter space, e.g.
+ *   java -jar target/benchmarks.jar SchedulerBenchmark -p taskCount=100000 -p algorithm=SRTF
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SchedulerBenchmark {
+    
+    @Param({"FCFS", "SJF", "SRTF", "EDF", "PRIORITY", "PRIORITY_PREEMPTIVE", "RR", "MLFQ"})
+    public String algorithm;
+    
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int taskCount;
+    
+    @Param({"UNIFORM", "EXPONENTIAL", "PARETO", "LOGNORMAL"})
+    public WorkloadGenerator.BurstDistribution burstDistribution;
+    
+    @Param({"UNIFORM", "POISSON", "BURSTY", "BATCHED"})
+    public WorkloadGenerator.ArrivalProcess arrivalProcess;
+    
+    @Param({"NONE", "TIGHT", "LOOSE"})
+    public WorkloadGenerator.DeadlineSlack deadlineSlack;
+    
+    private Scheduler scheduler;
+    private List<Task> tasks;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        scheduler = createScheduler(algorithm);
+        tasks = new WorkloadGenerator(42L)
+            .bursts(burstDistribution)
+            .arrivals(arrivalProcess)
+            .deadlines(deadlineSlack)
+            .generate(taskCount);
+    }
+    
+    @Benchmark
+    public SchedulingResult schedule() {
+        return scheduler.schedule(tasks);
+    }
+    
+    static Scheduler createScheduler(String algorithm) {
+        switch (algorithm) {
+            case "FCFS":
+                return new FirstComeFirstServedScheduler();
+            case "SJF":
+                return new ShortestJobFirstScheduler();
+            case "SRTF":
+                return new ShortestRemainingTimeFirstScheduler();
+            case "EDF":
+                return new EarliestDeadlineFirstScheduler();
+            case "PRIORITY":
+                return new PriorityScheduler(false);
+            case "PRIORITY_PREEMPTIVE":
+                return new PriorityScheduler(true);
+            case "RR":
+                return new RoundRobinScheduler();
+            case "MLFQ":
+                return new MLFQScheduler();
+            default:
+                throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+        }
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(SchedulerBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,61 @@
+package scheduler.bench;
+
+import org.openjdk.jmh.annotations.*;
+import scheduler.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Scheduler#schedule(TaskTable)} of one scheduler, either alone in
+ * its fork or after all six default greedy schedulers have run in it, as in
+ * {@link SchedulerManager}. With {@code mix=ALL} the engine's shared call
+ * sites have seen every policy and ready queue type before measurement
+ * starts, so any cost of megamorphic dispatch on the hot loop shows as the
+ * gap to {@code mix=ALONE}:
+ *   java -jar target/benchmarks.jar SchedulerMixBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class SchedulerMixBenchmark {
+    private static final String[] DEFAULT_GREEDY = {
+        "FCFS", "SJF", "SRTF", "EDF", "PRIORITY", "PRIORITY_PREEMPTIVE"};
+    // Runs of each scheduler before measurement, enough for the JIT to compile the engine
+    private static final int MIX_RUNS = 20;
+    
+    @Param({"SJF", "SRTF", "EDF", "PRIORITY_PREEMPTIVE"})
+    public String algorithm;
+    
+    @Param({"ALONE", "ALL"})
+    public String mix;
+    
+    @Param({"100000"})
+    public int taskCount;
+    
+    private Scheduler scheduler;
+    private TaskTable table;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        scheduler = SchedulerBenchmark.createScheduler(algorithm);
+        table = new WorkloadGenerator(42L)
+            .deadlines(WorkloadGenerator.DeadlineSlack.LOOSE)
+            .priorityLevels(140)
+            .generateTable(taskCount);
+        if (mix.equals("ALL")) {
+            for (int i = 0; i < MIX_RUNS; i++) {
+                for (String other : DEFAULT_GREEDY) {
+                    SchedulerBenchmark.createScheduler(other).schedule(table);
+                }
+            }
+        }
+    }
+    
+    @Benchmark
+    public double schedule() {
+        return scheduler.schedule(table).getAverageWaitingTime();
+    }
+}
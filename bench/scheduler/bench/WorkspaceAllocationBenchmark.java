@@ -0,0 +1,89 @@
+package scheduler.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import scheduler.*;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation check for {@link Scheduler#schedule(SchedulingWorkspace)}
+ *
+ * Repeated runs in a warmed-up workspace should allocate next to nothing.
+ * Running this class's main method measures every engine-based scheduler with
+ * the GC profiler and exits with status 1 if any of them allocates more than
+ * {@link #MAX_BYTES_PER_RUN} bytes per run:
+ *   java -cp target/benchmarks.jar scheduler.bench.WorkspaceAllocationBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class WorkspaceAllocationBenchmark {
+    static final double MAX_BYTES_PER_RUN = 64;
+    
+    @Param({"FCFS", "SJF", "SRTF", "EDF", "PRIORITY", "PRIORITY_PREEMPTIVE", "RR", "MLFQ"})
+    public String algorithm;
+    
+    @Param({"10000"})
+    public int taskCount;
+    
+    private Scheduler scheduler;
+    private SchedulingWorkspace workspace;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        scheduler = SchedulerBenchmark.createScheduler(algorithm);
+        workspace = new SchedulingWorkspace(new WorkloadGenerator(42L)
+            .deadlines(WorkloadGenerator.DeadlineSlack.LOOSE)
+            .generateTable(taskCount));
+    }
+    
+    @Benchmark
+    public double schedule() {
+        return scheduler.schedule(workspace).getAverageWaitingTime();
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(WorkspaceAllocationBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+        Collection<RunResult> results = new Runner(options).run();
+        
+        boolean failed = false;
+        for (RunResult run : results) {
+            String algorithm = run.getParams().getParam("algorithm");
+            double bytesPerRun = allocationPerOperation(run);
+            if (!(bytesPerRun <= MAX_BYTES_PER_RUN)) {
+                System.err.printf("%s allocates %.1f bytes per run (limit %.0f)%n",
+                    algorithm, bytesPerRun, MAX_BYTES_PER_RUN);
+                failed = true;
+            }
+        }
+        if (failed) {
+            System.exit(1);
+        }
+        System.out.println("All workspace runs within " + (int) MAX_BYTES_PER_RUN + " bytes per run");
+    }
+    
+    // The metric is named "gc.alloc.rate.norm", prefixed with a dot in older JMH versions
+    private static double allocationPerOperation(RunResult run) {
+        for (Map.Entry<String, Result> entry : run.getSecondaryResults().entrySet()) {
+            if (entry.getKey().endsWith("gc.alloc.rate.norm")) {
+                return entry.getValue().getScore();
+            }
+        }
+        return Double.NaN;
+    }
+}
@@ -0,0 +1,69 @@
+package scheduler;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for one instrumented run. Built from the separate
+ * {@code jfr/} source tree on JDK 11 or later, since {@code jdk.jfr} is not
+ * part of the Java 8 API, and looked up reflectively by
+ * {@link SchedulerMetrics}.
+ */
+@Name("scheduler.Run")
+@Label("Scheduler Run")
+@Category("CPU Scheduler")
+@Description("Counters of one scheduler run")
+@StackTrace(false)
+final class SchedulerRunEvent extends Event {
+    @Label("Algorithm")
+    String algorithm;
+    
+    @Label("Run Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long runTime;
+    
+    @Label("Decision Points")
+    long decisionPoints;
+    
+    @Label("Preemptions")
+    long preemptions;
+    
+    @Label("Context Switches")
+    long contextSwitches;
+    
+    @Label("Queue Offers")
+    long queueOffers;
+    
+    @Label("Queue Polls")
+    long queuePolls;
+    
+    @Label("Peak Queue Depth")
+    int peakQueueDepth;
+    
+    @Label("Idle Gaps")
+    long idleGaps;
+    
+    @Label("Idle Time")
+    long idleTime;
+    
+    static void commit(RunMetrics metrics) {
+        SchedulerRunEvent event = new SchedulerRunEvent();
+        if (!event.shouldCommit()) return;
+        event.algorithm = metrics.getAlgorithmName();
+        event.runTime = metrics.getElapsedNanos();
+        event.decisionPoints = metrics.getDecisionPoints();
+        event.preemptions = metrics.getPreemptions();
+        event.contextSwitches = metrics.getContextSwitches();
+        event.queueOffers = metrics.getQueueOffers();
+        event.queuePolls = metrics.getQueuePolls();
+        event.peakQueueDepth = metrics.getPeakQueueDepth();
+        event.idleGaps = metrics.getIdleGaps();
+        event.idleTime = metrics.getIdleTime();
+        event.commit();
+    }
+}
@@ -0,0 +1,184 @@
+package scheduler;
+
+import java.util.Arrays;
+
+/**
+ * Ready queue for policies whose keys fall in a small integer range
+ *
+ * One FIFO bucket of rows per key, found through a two-level occupancy
+ * bitmap: a bit per bucket and a summary bit per 64 buckets. Offer appends
+ * to its key's bucket and poll takes the head of the lowest occupied bucket,
+ * located with two {@code Long.numberOfTrailingZeros}, so both are O(1) for
+ * up to {@link #MAX_KEYS} keys.
+ *
+ * Orders exactly like a {@link HeapReadyQueue}: equal keys run in row order,
+ * which is arrival order. Arrivals come in row order and land at the back of
+ * their bucket; a preempted row goes back in front of the later arrivals with
+ * its key. The key of a row is read from the policy's key column, fetched
+ * once per run, when it is offered.
+ */
+public final class BucketReadyQueue implements ReadyQueue {
+    /** Most distinct keys a queue can hold: 64 summary bits of 64 bucket bits each. */
+    public static final int MAX_KEYS = 64 * 64;
+    
+    private static final int INITIAL_BUCKET_CAPACITY = 16;
+    
+    private final TaskTable table;
+    private int[] keys;
+    private int minKey;
+    private int keyCount;
+    
+    // Bucket rings, power-of-two sized and allocated on first use
+    private final int[][] buckets;
+    private final int[] heads;
+    private final int[] sizes;
+    private final long[] occupied;
+    private long summary;
+    private int size;
+    
+    /** Queue for keys {@code minKey} to {@code maxKey}, inclusive. */
+    public BucketReadyQueue(SchedulingPolicy policy, TaskTable table, int minKey, int maxKey) {
+        long keys = (long) maxKey - minKey + 1;
+        if (!fits(minKey, maxKey)) {
+            throw new IllegalArgumentException("Key range " + minKey + ".." + maxKey
+                + " exceeds " + MAX_KEYS + " keys");
+        }
+        this.table = table;
+        this.keys = policy.getReadyQueueKeys(table);
+        this.minKey = minKey;
+        this.keyCount = (int) keys;
+        buckets = new int[keyCount][];
+        heads = new int[keyCount];
+        sizes = new int[keyCount];
+        occupied = new long[(keyCount + 63) >>> 6];
+    }
+    
+    /** Whether keys {@code minKey} to {@code maxKey} fit in one bucket queue. */
+    public static boolean fits(int minKey, int maxKey) {
+        return minKey <= maxKey && (long) maxKey - minKey < MAX_KEYS;
+    }
+    
+    int getCapacity() {
+        return buckets.length;
+    }
+    
+    // Empties the queue for reuse by another policy and key range within the capacity
+    void reset(SchedulingPolicy policy, int minKey, int maxKey) {
+        keys = policy.getReadyQueueKeys(table);
+        Arrays.fill(sizes, 0, keyCount, 0);
+        Arrays.fill(occupied, 0L);
+        summary = 0;
+        size = 0;
+        this.minKey = minKey;
+        this.keyCount = maxKey - minKey + 1;
+    }
+    
+    private int bucketOf(int row) {
+        int bucket = keys[row] - minKey;
+        if (bucket < 0 || bucket >= keyCount) {
+            throw new IllegalStateException("Key of row " + row + " is outside "
+                + minKey + ".." + (minKey + keyCount - 1));
+        }
+        return bucket;
+    }
+    
+    @Override
+    public void offer(int row) {
+        offer(row, bucketOf(row));
+    }
+    
+    @Override
+    public int offerAll(int fromRow, int toRow) {
+        int best = fromRow;
+        int bestBucket = Integer.MAX_VALUE;
+        for (int row = fromRow; row < toRow; row++) {
+            int bucket = bucketOf(row);
+            offer(row, bucket);
+            if (bucket < bestBucket) {
+                bestBucket = bucket;
+                best = row;
+            }
+        }
+        return best;
+    }
+    
+    private void offer(int row, int bucket) {
+        int[] ring = buckets[bucket];
+        int count = sizes[bucket];
+        if (ring == null) {
+            ring = buckets[bucket] = new int[INITIAL_BUCKET_CAPACITY];
+        } else if (count == ring.length) {
+            ring = grow(bucket);
+        }
+        int mask = ring.length - 1;
+        int head = heads[bucket];
+        if (count == 0) {
+            occupied[bucket >>> 6] |= 1L << bucket;
+            summary |= 1L << (bucket >>> 6);
+            ring[head] = row;
+        } else if (row > ring[(head + count - 1) & mask]) {
+            ring[(head + count) & mask] = row;
+        } else if (row < ring[head]) {
+            head = (head - 1) & mask;
+            ring[head] = row;
+            heads[bucket] = head;
+        } else {
+            // Several preempted rows with one key, as on more than one CPU: keep row order
+            int i = count;
+            while (ring[(head + i - 1) & mask] > row) {
+                ring[(head + i) & mask] = ring[(head + i - 1) & mask];
+                i--;
+            }
+            ring[(head + i) & mask] = row;
+        }
+        sizes[bucket] = count + 1;
+        size++;
+    }
+    
+    @Override
+    public int poll() {
+        int word = Long.numberOfTrailingZeros(summary);
+        int bucket = (word << 6) | Long.numberOfTrailingZeros(occupied[word]);
+        int[] ring = buckets[bucket];
+        int head = heads[bucket];
+        int row = ring[head];
+        heads[bucket] = (head + 1) & (ring.length - 1);
+        if (--sizes[bucket] == 0) {
+            occupied[word] &= ~(1L << bucket);
+            if (occupied[word] == 0) {
+                summary &= ~(1L << word);
+            }
+        }
+        size--;
+        return row;
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    @Override
+    public int size() {
+        return size;
+    }
+    
+    @Override
+    public boolean preempts(int arrivingRow, int runningRow) {
+        int arriving = keys[arrivingRow];
+        int running = keys[runningRow];
+        return arriving < running || (arriving == running && arrivingRow < runningRow);
+    }
+    
+    private int[] grow(int bucket) {
+        int[] ring = buckets[bucket];
+        int[] larger = new int[ring.length * 2];
+        int head = heads[bucket];
+        int firstPart = ring.length - head;
+        System.arraycopy(ring, head, larger, 0, firstPart);
+        System.arraycopy(ring, 0, larger, firstPart, head);
+        buckets[bucket] = larger;
+        heads[bucket] = 0;
+        return larger;
+    }
+}
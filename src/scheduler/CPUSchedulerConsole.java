@@ -1,11 +1,20 @@
 package scheduler;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Scanner;
 
 /**
  * Console-based interface for CPU Task Scheduling
+ * 
+ * Without arguments it runs the interactive menu. With arguments it runs in
+ * batch mode, e.g.
+ * {@code --input trace.csv --algorithms SJF,SRTF --output results.jsonl}
+ * (see {@link #printUsage()}).
  */
 public class CPUSchedulerConsole {
     private SchedulerManager schedulerManager;
@@ -210,7 +219,19 @@ public class CPUSchedulerConsole {
         System.out.println("  Average Turnaround Time: " + String.format("%.2f", result.getAverageTurnaroundTime()));
         System.out.println("  Total Completion Time: " + result.getTotalCompletionTime());
         System.out.println("  CPU Utilization: " + String.format("%.2f", result.getCpuUtilization()) + "%");
+        for (int cpu = 0; cpu < result.getCpuCount() && result.getCpuCount() > 1; cpu++) {
+            System.out.println("    CPU " + cpu + ": " + String.format("%.2f", result.getCoreUtilization(cpu)) + "%");
+        }
         System.out.println("  Missed Deadlines: " + result.getMissedDeadlines());
+        System.out.println("  Average Response Time: " + String.format("%.2f", result.getAverageResponseTime()));
+        printDistribution("Waiting Time", result.getWaitingTimeDistribution());
+        printDistribution("Turnaround Time", result.getTurnaroundTimeDistribution());
+        printDistribution("Response Time", result.getResponseTimeDistribution());
+    }
+    
+    private void printDistribution(String label, QuantileSketch sketch) {
+        System.out.printf("  %s p50/p95/p99/max: %d / %d / %d / %d\n",
+            label, sketch.getP50(), sketch.getP95(), sketch.getP99(), sketch.getMax());
     }
     
     private void loadSampleTasks() {
@@ -257,7 +278,173 @@ public class CPUSchedulerConsole {
         return sb.toString();
     }
     
+    // ----- Batch mode -----
+    
+    /**
+     * Loads a task file, runs the requested algorithms one after another on
+     * the same columnar table and writes each result as soon as it finishes.
+     * Returns the process exit code.
+     */
+    static int runBatch(String[] args) {
+        Path input = null;
+        Path output = null;
+        Path slots = null;
+        String algorithms = "all";
+        int generate = -1;
+        long seed = 42L;
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--help") || arg.equals("-h")) {
+                printUsage();
+                return 0;
+            }
+            if (i + 1 == args.length) {
+                System.err.println("Missing value for " + arg);
+                printUsage();
+                return 2;
+            }
+            String value = args[++i];
+            switch (arg) {
+                case "--input":
+                    input = Paths.get(value);
+                    break;
+                case "--output":
+                    output = Paths.get(value);
+                    break;
+                case "--slots":
+                    slots = Paths.get(value);
+                    break;
+                case "--algorithms":
+                    algorithms = value;
+                    break;
+                case "--generate":
+                case "--seed":
+                    try {
+                        if (arg.equals("--seed")) {
+                            seed = Long.parseLong(value);
+                        } else {
+                            generate = Integer.parseInt(value);
+                        }
+                    } catch (NumberFormatException e) {
+                        System.err.println("Invalid number for " + arg + ": " + value);
+                        return 2;
+                    }
+                    break;
+                default:
+                    System.err.println("Unknown option: " + arg);
+                    printUsage();
+                    return 2;
+            }
+        }
+        if ((input == null) == (generate < 0)) {
+            System.err.println("Exactly one of --input and --generate is required");
+            printUsage();
+            return 2;
+        }
+        
+        List<Scheduler> schedulers;
+        try {
+            schedulers = parseAlgorithms(algorithms);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            return 2;
+        }
+        
+        try (ResultWriter statistics = output != null ? ResultWriter.open(output) : null;
+             ResultWriter slotWriter = slots != null ? ResultWriter.open(slots) : null) {
+            long start = System.nanoTime();
+            TaskTable table = input != null ? TaskFileReader.read(input)
+                : new WorkloadGenerator(seed).generateTable(generate);
+            System.err.printf("Loaded %d tasks from %s in %.1f ms\n", table.size(),
+                input != null ? input : "generator (seed " + seed + ")", (System.nanoTime() - start) / 1e6);
+            
+            System.out.printf("%-40s %-15s %-15s %-12s %-12s %-10s %-10s\n",
+                "Algorithm", "Avg Waiting", "Avg Turnaround", "Completion", "CPU Util %", "Missed DL", "Time (ms)");
+            for (Scheduler scheduler : schedulers) {
+                long runStart = System.nanoTime();
+                SchedulingResult result = scheduler.schedule(table);
+                long elapsed = System.nanoTime() - runStart;
+                System.out.printf("%-40s %-15.2f %-15.2f %-12d %-12.2f %-10d %-10.1f\n",
+                    result.getAlgorithmName(),
+                    result.getAverageWaitingTime(),
+                    result.getAverageTurnaroundTime(),
+                    result.getTotalCompletionTime(),
+                    result.getCpuUtilization(),
+                    result.getMissedDeadlines(),
+                    elapsed / 1e6);
+                if (statistics != null) {
+                    statistics.writeStatistics(result, elapsed);
+                }
+                if (slotWriter != null) {
+                    slotWriter.writeSlots(result);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            return 1;
+        }
+        return 0;
+    }
+    
+    static List<Scheduler> parseAlgorithms(String list) {
+        List<Scheduler> schedulers = new ArrayList<>();
+        for (String code : list.split(",")) {
+            code = code.trim().toUpperCase(Locale.ROOT);
+            switch (code) {
+                case "ALL":
+                    schedulers.addAll(new SchedulerManager().getSchedulers());
+                    break;
+                case "FCFS":
+                    schedulers.add(new FirstComeFirstServedScheduler());
+                    break;
+                case "SJF":
+                    schedulers.add(new ShortestJobFirstScheduler());
+                    break;
+                case "SRTF":
+                    schedulers.add(new ShortestRemainingTimeFirstScheduler());
+                    break;
+                case "EDF":
+                    schedulers.add(new EarliestDeadlineFirstScheduler());
+                    break;
+                case "PRIORITY":
+                    schedulers.add(new PriorityScheduler(false));
+                    break;
+                case "PRIORITY_PREEMPTIVE":
+                    schedulers.add(new PriorityScheduler(true));
+                    break;
+                case "RR":
+                    schedulers.add(new RoundRobinScheduler());
+                    break;
+                case "MLFQ":
+                    schedulers.add(new MLFQScheduler());
+                    break;
+                default:
+                    if (code.startsWith("RR:")) {
+                        schedulers.add(new RoundRobinScheduler(Integer.parseInt(code.substring(3))));
+                        break;
+                    }
+                    throw new IllegalArgumentException("Unknown algorithm: " + code);
+            }
+        }
+        return schedulers;
+    }
+    
+    private static void printUsage() {
+        System.err.println("Usage: java scheduler.CPUSchedulerConsole (--input FILE | --generate COUNT) [options]");
+        System.err.println("  --input FILE        tasks as .csv, .jsonl or binary .trace");
+        System.err.println("  --generate COUNT    synthetic Poisson workload instead of --input");
+        System.err.println("  --seed SEED         generator seed (default 42)");
+        System.err.println("  --algorithms LIST   comma-separated: FCFS, SJF, SRTF, EDF, PRIORITY,");
+        System.err.println("                      PRIORITY_PREEMPTIVE, RR, RR:<quantum>, MLFQ, ALL (default)");
+        System.err.println("  --output FILE       per-algorithm statistics (.csv or .jsonl)");
+        System.err.println("  --slots FILE        every time slot of every run (.csv or .jsonl)");
+        System.err.println("Without arguments the interactive menu starts.");
+    }
+    
     public static void main(String[] args) {
+        if (args.length > 0) {
+            System.exit(runBatch(args));
+        }
         new CPUSchedulerConsole().run();
     }
 }
@@ -7,6 +7,8 @@ import javax.swing.table.TableColumnModel;
 import java.awt.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 
 /**
  * CPU Task Scheduling Using Greedy Algorithms: A Real-World Operating System Approach
@@ -27,7 +29,15 @@ public class CPUSchedulerGUI extends JFrame {
     private JLabel completionTimeLabel;
     private JLabel cpuUtilLabel;
     private JLabel missedDeadlinesLabel;
-    private JPanel ganttChartPanel;
+    private GanttChartPanel ganttChart;
+    private JButton runButton;
+    private JButton compareButton;
+    private JButton cancelButton;
+    private JProgressBar progressBar;
+    private SwingWorker<?, ?> activeWorker;
+    
+    // Longest log the schedule area will show; bigger runs are truncated
+    private static final int MAX_LOGGED_ROWS = 2000;
     
     public CPUSchedulerGUI() {
         schedulerManager = new SchedulerManager();
@@ -112,7 +122,9 @@ public class CPUSchedulerGUI extends JFrame {
             "• SJF: Shortest Job First (Minimizes waiting time)\n" +
             "• SRTF: Shortest Remaining Time First (Preemptive SJF)\n" +
             "• EDF: Earliest Deadline First (Prioritizes urgent deadlines)\n" +
-            "• Priority: Executes highest priority tasks first";
+            "• Priority: Executes highest priority tasks first\n" +
+            "• RR: Round Robin (Fixed time quantum, FIFO rotation)\n" +
+            "• MLFQ: Multilevel Feedback Queue (Demotes CPU-bound tasks)";
         showInfoDialog(info, "Algorithm Help");
     }
 
@@ -120,7 +132,8 @@ public class CPUSchedulerGUI extends JFrame {
         String info = 
             "READING RESULTS & CHARTS\n\n" +
             "• Gantt Chart (Bottom):\n" +
-            "   The colored bars represent the CPU timeline. Each block shows exactly which task is controlling the CPU at that time.\n\n" +
+            "   One lane per task; each colored block is a period during which that task held the CPU. Hover a block for its exact times.\n" +
+            "   Use Ctrl+Wheel or the +/- buttons to zoom, drag to pan, and Fit to see the whole run. Very short slots are merged when zoomed out.\n\n" +
             "• Schedule Log (Top):\n" +
             "   A text log showing start times, stop times, and context switches.\n\n" +
             "• Performance Metrics:\n" +
@@ -255,8 +268,8 @@ public class CPUSchedulerGUI extends JFrame {
         
         // Row 2: Buttons
         JPanel actionButtonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 5, 0));
-        JButton runButton = new JButton("Run Selected");
-        JButton compareButton = new JButton("Compare All");
+        runButton = new JButton("Run Selected");
+        compareButton = new JButton("Compare All");
         JButton algoHelpBtn = new JButton("?"); // Specific Help Button
         
         runButton.setFont(runButton.getFont().deriveFont(Font.BOLD));
@@ -276,6 +289,20 @@ public class CPUSchedulerGUI extends JFrame {
         gbc.gridwidth = 2; 
         algoControlPanel.add(actionButtonPanel, gbc);
         
+        // Row 3: Progress of the background run
+        JPanel progressPanel = new JPanel(new BorderLayout(5, 0));
+        progressBar = new JProgressBar(0, 100);
+        progressBar.setStringPainted(true);
+        progressBar.setString("Idle");
+        cancelButton = new JButton("Cancel");
+        cancelButton.setEnabled(false);
+        cancelButton.addActionListener(e -> cancelActiveRun());
+        progressPanel.add(progressBar, BorderLayout.CENTER);
+        progressPanel.add(cancelButton, BorderLayout.EAST);
+        
+        gbc.gridy = 2;
+        algoControlPanel.add(progressPanel, gbc);
+        
         // Results Table
         String[] resultColumns = {"Algorithm", "Wait", "Turnaround", "Complete", "Util %", "Missed"};
         resultTableModel = new DefaultTableModel(resultColumns, 0) {
@@ -323,20 +350,28 @@ public class CPUSchedulerGUI extends JFrame {
         scheduleArea.setMargin(new Insets(5, 5, 5, 5));
         JScrollPane scheduleScrollPane = new JScrollPane(scheduleArea);
         
-        // Custom Gantt Panel
-        ganttChartPanel = new JPanel() {
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-            }
-        };
-        ganttChartPanel.setLayout(new BorderLayout());
-        ganttChartPanel.setBackground(Color.WHITE);
-        ganttChartPanel.setPreferredSize(new Dimension(0, 250));
+        // Gantt chart with zoom controls
+        ganttChart = new GanttChartPanel();
+        JScrollPane ganttScrollPane = ganttChart.createScrollPane();
+        ganttScrollPane.setPreferredSize(new Dimension(0, 250));
+        ganttScrollPane.setBorder(null);
+        
+        JPanel zoomPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 2));
+        JButton zoomOutBtn = new JButton("-");
+        JButton zoomInBtn = new JButton("+");
+        JButton zoomFitBtn = new JButton("Fit");
+        zoomOutBtn.addActionListener(e -> ganttChart.zoomOut());
+        zoomInBtn.addActionListener(e -> ganttChart.zoomIn());
+        zoomFitBtn.addActionListener(e -> ganttChart.zoomToFit());
+        zoomPanel.add(new JLabel("Ctrl+Wheel to zoom, drag to pan"));
+        zoomPanel.add(zoomOutBtn);
+        zoomPanel.add(zoomInBtn);
+        zoomPanel.add(zoomFitBtn);
         
         JPanel ganttContainer = new JPanel(new BorderLayout());
         ganttContainer.setBorder(BorderFactory.createLineBorder(Color.LIGHT_GRAY));
-        ganttContainer.add(ganttChartPanel, BorderLayout.CENTER);
+        ganttContainer.add(zoomPanel, BorderLayout.NORTH);
+        ganttContainer.add(ganttScrollPane, BorderLayout.CENTER);
         
         rightPanel.add(rightHeader, BorderLayout.NORTH); // Add help button row
         rightPanel.add(scheduleScrollPane, BorderLayout.CENTER);
@@ -466,8 +501,32 @@ public class CPUSchedulerGUI extends JFrame {
         }
         
         Scheduler selected = (Scheduler) schedulerComboBox.getSelectedItem();
-        SchedulingResult result = schedulerManager.runScheduler(selected);
-        displayResult(result);
+        startRun("Running " + selected.getAlgorithmName() + "...", true);
+        
+        SwingWorker<ResultView, Void> worker = new SwingWorker<ResultView, Void>() {
+            @Override
+            protected ResultView doInBackground() {
+                // Edits since the last run of the same scheduler only recompute the schedule after them
+                return new ResultView(schedulerManager.runSchedulerIncrementally(selected));
+            }
+            
+            @Override
+            protected void done() {
+                if (activeWorker != this) {
+                    return;
+                }
+                try {
+                    displayResult(get());
+                    finishRun("Done");
+                } catch (CancellationException | InterruptedException e) {
+                    finishRun("Cancelled");
+                } catch (ExecutionException e) {
+                    failRun(e.getCause());
+                }
+            }
+        };
+        activeWorker = worker;
+        worker.execute();
     }
     
     private void compareAllSchedulers() {
@@ -477,41 +536,137 @@ public class CPUSchedulerGUI extends JFrame {
             return;
         }
         
-        List<SchedulingResult> results = schedulerManager.runAllSchedulers();
+        int total = schedulerManager.getSchedulers().size();
         resultTableModel.setRowCount(0);
+        startRun("0 / " + total + " algorithms", false);
         
-        for (SchedulingResult result : results) {
-            Object[] row = {
-                result.getAlgorithmName(),
-                String.format("%.2f", result.getAverageWaitingTime()),
-                String.format("%.2f", result.getAverageTurnaroundTime()),
-                result.getTotalCompletionTime(),
-                String.format("%.2f", result.getCpuUtilization()),
-                result.getMissedDeadlines()
-            };
-            resultTableModel.addRow(row);
+        // Results are published as each algorithm finishes; the first
+        // registered algorithm is displayed in detail once all are done.
+        SwingWorker<ResultView, SchedulingResult> worker = new SwingWorker<ResultView, SchedulingResult>() {
+            private int completed;
+            
+            @Override
+            protected ResultView doInBackground() throws InterruptedException {
+                List<SchedulingResult> results = schedulerManager.runAllSchedulersParallel(result -> {
+                    publish(result);
+                    setProgress(++completed * 100 / total);
+                });
+                return results.isEmpty() ? null : new ResultView(results.get(0));
+            }
+            
+            @Override
+            protected void process(List<SchedulingResult> chunks) {
+                if (activeWorker != this) {
+                    return;
+                }
+                for (SchedulingResult result : chunks) {
+                    addResultRow(result);
+                }
+                progressBar.setString(resultTableModel.getRowCount() + " / " + total + " algorithms");
+            }
+            
+            @Override
+            protected void done() {
+                if (activeWorker != this) {
+                    return;
+                }
+                try {
+                    ResultView first = get();
+                    if (first != null) {
+                        displayResult(first);
+                    }
+                    finishRun("Done");
+                } catch (CancellationException | InterruptedException e) {
+                    finishRun("Cancelled");
+                } catch (ExecutionException e) {
+                    failRun(e.getCause());
+                }
+            }
+        };
+        worker.addPropertyChangeListener(e -> {
+            if ("progress".equals(e.getPropertyName()) && activeWorker == worker) {
+                progressBar.setValue((Integer) e.getNewValue());
+            }
+        });
+        activeWorker = worker;
+        worker.execute();
+    }
+    
+    private void addResultRow(SchedulingResult result) {
+        if (result.isCancelled()) {
+            resultTableModel.addRow(new Object[] {result.getAlgorithmName(), "-", "-", "-", "-", "cancelled"});
+            return;
         }
-        
-        if (!results.isEmpty()) {
-            displayResult(results.get(0));
+        Object[] row = {
+            result.getAlgorithmName(),
+            String.format("%.2f", result.getAverageWaitingTime()),
+            String.format("%.2f", result.getAverageTurnaroundTime()),
+            result.getTotalCompletionTime(),
+            String.format("%.2f", result.getCpuUtilization()),
+            result.getMissedDeadlines()
+        };
+        resultTableModel.addRow(row);
+    }
+    
+    private void startRun(String status, boolean indeterminate) {
+        runButton.setEnabled(false);
+        compareButton.setEnabled(false);
+        cancelButton.setEnabled(true);
+        progressBar.setIndeterminate(indeterminate);
+        progressBar.setValue(0);
+        progressBar.setString(status);
+    }
+    
+    private void finishRun(String status) {
+        activeWorker = null;
+        runButton.setEnabled(true);
+        compareButton.setEnabled(true);
+        cancelButton.setEnabled(false);
+        progressBar.setIndeterminate(false);
+        progressBar.setString(status);
+    }
+    
+    private void failRun(Throwable cause) {
+        finishRun("Failed");
+        JOptionPane.showMessageDialog(this, "Scheduling failed: " + cause.getMessage(),
+            "Error", JOptionPane.ERROR_MESSAGE);
+    }
+    
+    private void cancelActiveRun() {
+        if (activeWorker != null) {
+            // Interrupting the worker stops the simulation at its next cancellation check
+            activeWorker.cancel(true);
+            finishRun("Cancelled");
         }
     }
     
-    private void displayResult(SchedulingResult result) {
-        avgWaitingLabel.setText(String.format("Avg Waiting: %.2f", result.getAverageWaitingTime()));
-        avgTurnaroundLabel.setText(String.format("Avg Turnaround: %.2f", result.getAverageTurnaroundTime()));
-        completionTimeLabel.setText("Total Time: " + result.getTotalCompletionTime());
-        cpuUtilLabel.setText(String.format("CPU Utilization: %.2f%%", result.getCpuUtilization()));
-        missedDeadlinesLabel.setText("Missed Deadlines: " + result.getMissedDeadlines());
-        
+    /**
+     * A result together with its schedule log and Gantt lanes, prepared off
+     * the event dispatch thread so large runs do not stall the window.
+     */
+    private static final class ResultView {
+        final SchedulingResult result;
+        final String scheduleText;
+        final GanttChartPanel.Lanes lanes;
+        
+        ResultView(SchedulingResult result) {
+            this.result = result;
+            this.scheduleText = formatSchedule(result);
+            this.lanes = GanttChartPanel.Lanes.of(result.getSchedule());
+        }
+    }
+    
+    private static String formatSchedule(SchedulingResult result) {
         StringBuilder scheduleText = new StringBuilder();
         scheduleText.append("Algorithm: ").append(result.getAlgorithmName()).append("\n");
         scheduleText.append("===========================================\n\n");
         scheduleText.append("Execution Order (Time Slots):\n");
         scheduleText.append("----------------------------\n");
-        for (TimeSlot slot : result.getSchedule()) {
-            scheduleText.append(slot.toString()).append("\n");
+        List<TimeSlot> schedule = result.getSchedule();
+        for (int i = 0; i < Math.min(schedule.size(), MAX_LOGGED_ROWS); i++) {
+            scheduleText.append(schedule.get(i).toString()).append("\n");
         }
+        appendTruncation(scheduleText, schedule.size(), "time slots");
         
         scheduleText.append("\nDetailed Task Metrics:\n");
         scheduleText.append("----------------------------------------------------------------\n");
@@ -519,7 +674,9 @@ public class CPUSchedulerGUI extends JFrame {
             "Task", "Start", "Finish", "Wait", "Turnaround", "Deadline"));
         scheduleText.append("----------------------------------------------------------------\n");
         
-        for (Task task : result.getTasks()) {
+        List<Task> tasks = result.getTasks();
+        for (int i = 0; i < Math.min(tasks.size(), MAX_LOGGED_ROWS); i++) {
+            Task task = tasks.get(i);
             scheduleText.append(String.format("%-10s %-10d %-10d %-10d %-10d %-10s\n",
                 task.getName(),
                 task.getStartTime() >= 0 ? task.getStartTime() : -1,
@@ -528,117 +685,27 @@ public class CPUSchedulerGUI extends JFrame {
                 task.getTurnaroundTime() >= 0 ? task.getTurnaroundTime() : -1,
                 task.getDeadline() > 0 ? String.valueOf(task.getDeadline()) : "-"));
         }
-        
-        scheduleArea.setText(scheduleText.toString());
-        scheduleArea.setCaretPosition(0); 
-        drawGanttChart(result);
+        appendTruncation(scheduleText, tasks.size(), "tasks");
+        return scheduleText.toString();
     }
     
-    private void drawGanttChart(SchedulingResult result) {
-        ganttChartPanel.removeAll();
-        ganttChartPanel.setLayout(new BorderLayout());
-        
-        if (result.getSchedule().isEmpty()) {
-            ganttChartPanel.repaint();
-            ganttChartPanel.revalidate();
-            return;
+    private static void appendTruncation(StringBuilder text, int total, String what) {
+        if (total > MAX_LOGGED_ROWS) {
+            text.append("... ").append(total - MAX_LOGGED_ROWS).append(" more ").append(what).append("\n");
         }
+    }
+    
+    private void displayResult(ResultView view) {
+        SchedulingResult result = view.result;
+        avgWaitingLabel.setText(String.format("Avg Waiting: %.2f", result.getAverageWaitingTime()));
+        avgTurnaroundLabel.setText(String.format("Avg Turnaround: %.2f", result.getAverageTurnaroundTime()));
+        completionTimeLabel.setText("Total Time: " + result.getTotalCompletionTime());
+        cpuUtilLabel.setText(String.format("CPU Utilization: %.2f%%", result.getCpuUtilization()));
+        missedDeadlinesLabel.setText("Missed Deadlines: " + result.getMissedDeadlines());
         
-        JPanel chartPanel = new JPanel() {
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                Graphics2D g2d = (Graphics2D) g;
-                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                
-                int maxTime = result.getTotalCompletionTime();
-                int width = getWidth() - 40;
-                int height = getHeight() - 40;
-                int startX = 20;
-                int startY = 20;
-                
-                if (maxTime == 0) return;
-                
-                // Draw Axis
-                g2d.setColor(Color.GRAY);
-                g2d.drawLine(startX, startY + height, startX + width, startY + height);
-                g2d.setColor(Color.BLACK);
-                
-                // Draw Time Markers
-                for (int i = 0; i <= maxTime; i += Math.max(1, maxTime / 10)) {
-                    int x = startX + (i * width / maxTime);
-                    g2d.drawLine(x, startY + height, x, startY + height + 5);
-                    g2d.drawString(String.valueOf(i), x - 5, startY + height + 20);
-                }
-                
-                // Draw Bars
-                Color[] colors = {
-                    new Color(66, 133, 244),  // Google Blue
-                    new Color(15, 157, 88),   // Google Green
-                    new Color(219, 68, 55),   // Google Red
-                    new Color(244, 180, 0),   // Google Yellow
-                    new Color(171, 71, 188),  // Purple
-                    new Color(0, 172, 193),   // Cyan
-                    new Color(255, 112, 67),  // Deep Orange
-                    new Color(158, 158, 158)  // Grey
-                };
-                
-                int colorIndex = 0;
-                int barHeight = Math.max(25, height / result.getSchedule().size());
-                int yPos = startY;
-                
-                for (TimeSlot slot : result.getSchedule()) {
-                    int x1 = startX + (slot.getStartTime() * width / maxTime);
-                    int x2 = startX + (slot.getEndTime() * width / maxTime);
-                    int barWidth = Math.max(x2 - x1, 1); 
-                    
-                    Color color = colors[colorIndex % colors.length];
-                    
-                    // Shadow effect
-                    g2d.setColor(new Color(0, 0, 0, 30));
-                    g2d.fillRect(x1 + 2, yPos + 2, barWidth, barHeight - 5);
-                    
-                    // Main Bar
-                    g2d.setColor(color);
-                    g2d.fillRect(x1, yPos, barWidth, barHeight - 5);
-                    
-                    g2d.setColor(Color.DARK_GRAY);
-                    g2d.drawRect(x1, yPos, barWidth, barHeight - 5);
-                    
-                    // Label
-                    if (barWidth > 25) {
-                        g2d.setColor(Color.WHITE);
-                        FontMetrics fm = g2d.getFontMetrics();
-                        String label = slot.getTask().getName();
-                        
-                        if (fm.stringWidth(label) > barWidth - 4) {
-                            label = label.substring(0, Math.min(label.length(), 3)) + ".";
-                        }
-                        
-                        int textX = x1 + (barWidth - fm.stringWidth(label)) / 2;
-                        int textY = yPos + (barHeight - 5) / 2 + fm.getAscent() / 2 - 2;
-                        g2d.drawString(label, textX, textY);
-                    }
-                    
-                    yPos += barHeight;
-                    colorIndex++;
-                }
-            }
-        };
-        
-        // Use parent container width since window is fixed size
-        int panelWidth = ganttChartPanel.getWidth() > 0 ? ganttChartPanel.getWidth() - 20 : 600;
-        chartPanel.setPreferredSize(new Dimension(panelWidth, Math.max(180, result.getSchedule().size() * 35 + 50)));
-        chartPanel.setBackground(Color.WHITE);
-        
-        JScrollPane scrollPane = new JScrollPane(chartPanel);
-        scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_AS_NEEDED);
-        scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
-        scrollPane.setBorder(null); 
-        
-        ganttChartPanel.add(scrollPane, BorderLayout.CENTER);
-        ganttChartPanel.revalidate();
-        ganttChartPanel.repaint();
+        scheduleArea.setText(view.scheduleText);
+        scheduleArea.setCaretPosition(0); 
+        ganttChart.setLanes(view.lanes);
     }
     
     public static void main(String[] args) {
@@ -0,0 +1,206 @@
+package scheduler;
+
+import java.util.Arrays;
+
+/**
+ * Run-length compacted schedule: parallel primitive arrays of
+ * (task index, start, end, cpu), one entry per slot
+ *
+ * A slot that continues the previous slot of the same task on the same CPU
+ * (same task, starting exactly where it ended) is merged into it instead of
+ * adding an entry. The CPU column is only allocated once a slot lands on a
+ * CPU other than 0. What a task index refers to is up to the owner; see
+ * {@link SchedulingResult}.
+ *
+ * {@link #slotAt(int, int)} answers "what ran at time t" by binary search.
+ * Slots are appended in time order per CPU, so a single-CPU schedule is
+ * searched directly; otherwise a per-CPU index is built on first use, or
+ * by {@link #freeze()}, so a frozen schedule shared between threads is never
+ * written again.
+ */
+public final class CompactSchedule {
+    private int[] taskIndexes;
+    private int[] starts;
+    private int[] ends;
+    private int[] cpus; // null while every slot ran on CPU 0
+    private int size;
+    private int[] lastSlotOfCpu = {-1};
+    private boolean startOrdered = true;
+    private int[][] slotsByCpu; // lookup index, rebuilt lazily after appends and built by freeze()
+    private boolean frozen;
+    
+    public CompactSchedule() {
+        this(16);
+    }
+    
+    public CompactSchedule(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        taskIndexes = new int[capacity];
+        starts = new int[capacity];
+        ends = new int[capacity];
+    }
+    
+    /**
+     * Appends a slot, extending the CPU's previous slot instead when it
+     * belongs to the same task and ends where this one starts.
+     */
+    public void add(int taskIndex, int start, int end, int cpu) {
+        checkNotFrozen();
+        if (cpu >= lastSlotOfCpu.length) {
+            int old = lastSlotOfCpu.length;
+            lastSlotOfCpu = Arrays.copyOf(lastSlotOfCpu, Math.max(cpu + 1, old * 2));
+            Arrays.fill(lastSlotOfCpu, old, lastSlotOfCpu.length, -1);
+        }
+        int last = lastSlotOfCpu[cpu];
+        if (last >= 0 && taskIndexes[last] == taskIndex && ends[last] == start) {
+            ends[last] = end;
+            return;
+        }
+        
+        if (size == taskIndexes.length) {
+            int capacity = size * 2;
+            taskIndexes = Arrays.copyOf(taskIndexes, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            if (cpus != null) {
+                cpus = Arrays.copyOf(cpus, capacity);
+            }
+        }
+        if (cpu != 0 && cpus == null) {
+            cpus = new int[taskIndexes.length];
+        }
+        if (size > 0 && start < starts[size - 1]) {
+            startOrdered = false;
+        }
+        taskIndexes[size] = taskIndex;
+        starts[size] = start;
+        ends[size] = end;
+        if (cpus != null) {
+            cpus[size] = cpu;
+        }
+        lastSlotOfCpu[cpu] = size;
+        size++;
+        slotsByCpu = null;
+    }
+    
+    /** Empties the schedule, keeping its arrays for the next run. */
+    public void clear() {
+        checkNotFrozen();
+        size = 0;
+        Arrays.fill(lastSlotOfCpu, -1);
+        startOrdered = true;
+        slotsByCpu = null;
+    }
+    
+    /**
+     * Keeps only the first {@code count} slots of a single-CPU schedule, the
+     * last one now ending at {@code lastEnd}.
+     */
+    void truncate(int count, int lastEnd) {
+        checkNotFrozen();
+        size = count;
+        if (count > 0) {
+            ends[count - 1] = lastEnd;
+        }
+        lastSlotOfCpu[0] = count - 1;
+        slotsByCpu = null;
+    }
+    
+    /** Copy of this schedule, trimmed to its slots, that can be appended to again. */
+    CompactSchedule copy() {
+        CompactSchedule copy = new CompactSchedule(size);
+        System.arraycopy(taskIndexes, 0, copy.taskIndexes, 0, size);
+        System.arraycopy(starts, 0, copy.starts, 0, size);
+        System.arraycopy(ends, 0, copy.ends, 0, size);
+        if (cpus != null) {
+            copy.cpus = Arrays.copyOf(cpus, copy.taskIndexes.length);
+        }
+        copy.size = size;
+        copy.lastSlotOfCpu = lastSlotOfCpu.clone();
+        copy.startOrdered = startOrdered;
+        return copy;
+    }
+    
+    /** Makes the schedule read-only; see {@link SchedulingResult#freeze()}. */
+    void freeze() {
+        if (cpus != null || !startOrdered) {
+            slotsByCpu();
+        }
+        frozen = true;
+    }
+    
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new UnsupportedOperationException("Schedule is read-only");
+        }
+    }
+    
+    public int size() { return size; }
+    public int getTaskIndex(int slot) { return taskIndexes[slot]; }
+    public int getStart(int slot) { return starts[slot]; }
+    public int getEnd(int slot) { return ends[slot]; }
+    public int getCpu(int slot) { return cpus != null ? cpus[slot] : 0; }
+    
+    /** Returns the slot running on CPU 0 at {@code time}, or -1 if it was idle. */
+    public int slotAt(int time) {
+        return slotAt(time, 0);
+    }
+    
+    /** Returns the slot running on {@code cpu} at {@code time}, or -1 if it was idle. */
+    public int slotAt(int time, int cpu) {
+        if (cpus == null && startOrdered) {
+            return cpu == 0 ? search(null, 0, size, time) : -1;
+        }
+        int[][] index = slotsByCpu();
+        if (cpu < 0 || cpu >= index.length) return -1;
+        return search(index[cpu], 0, index[cpu].length, time);
+    }
+    
+    // Last slot starting at or before time, if it is still running then
+    private int search(int[] order, int from, int to, int time) {
+        int lo = from;
+        int hi = to;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (starts[order != null ? order[mid] : mid] <= time) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        if (lo == from) return -1;
+        int slot = order != null ? order[lo - 1] : lo - 1;
+        return ends[slot] > time ? slot : -1;
+    }
+    
+    private int[][] slotsByCpu() {
+        if (slotsByCpu != null) return slotsByCpu;
+        int cpuCount = 1;
+        for (int i = 0; cpus != null && i < size; i++) {
+            cpuCount = Math.max(cpuCount, cpus[i] + 1);
+        }
+        int[] counts = new int[cpuCount];
+        for (int i = 0; i < size; i++) {
+            counts[getCpu(i)]++;
+        }
+        long[][] packed = new long[cpuCount][];
+        for (int cpu = 0; cpu < cpuCount; cpu++) {
+            packed[cpu] = new long[counts[cpu]];
+        }
+        Arrays.fill(counts, 0);
+        for (int i = 0; i < size; i++) {
+            int cpu = getCpu(i);
+            packed[cpu][counts[cpu]++] = ((long) starts[i] << 32) | i;
+        }
+        int[][] index = new int[cpuCount][];
+        for (int cpu = 0; cpu < cpuCount; cpu++) {
+            Arrays.sort(packed[cpu]); // a no-op pass when already in time order
+            index[cpu] = new int[packed[cpu].length];
+            for (int i = 0; i < index[cpu].length; i++) {
+                index[cpu][i] = (int) packed[cpu][i];
+            }
+        }
+        slotsByCpu = index;
+        return index;
+    }
+}
@@ -0,0 +1,301 @@
+package scheduler;
+
+import java.util.*;
+
+/**
+ * Admission control for preemptive EDF on one CPU
+ *
+ * Decides whether a task can be admitted without any admitted deadline being
+ * missed, using the processor-demand criterion instead of a simulation.
+ * Tasks are admitted at their arrival, in arrival order, so every admitted
+ * task with work left has already been released. EDF then meets all
+ * deadlines exactly when, for each of them in deadline order,
+ *   now + (work left of all tasks with an earlier or equal deadline) <= deadline.
+ *
+ * The outstanding tasks live in a treap ordered by deadline in which every
+ * subtree knows its total work and the smallest slack of its tasks. A new
+ * task with burst C and deadline d fits if it fits itself and C is at most the
+ * smallest slack among the tasks due after d, so both checking and admitting
+ * take O(log n). Moving the clock forward retires work from the front in EDF
+ * order, again O(log n) per task touched, which keeps the model in step with
+ * an {@link EarliestDeadlineFirstScheduler} or a {@link LiveDispatcher}
+ * running the admitted tasks.
+ *
+ * Tasks without a deadline run after every task that has one under EDF, so
+ * they cannot cause a miss; they are always admitted and not tracked.
+ * Not thread-safe.
+ */
+public final class EdfAdmissionController {
+    private static final long NO_SLACK_LIMIT = Long.MAX_VALUE / 4;
+    
+    // Treap nodes, 1-based; node 0 is the empty tree
+    private int[] deadline;
+    private long[] work;        // work left of this task
+    private long[] totalWork;   // work left in the subtree
+    private long[] minSlack;    // min over the subtree of deadline - work up to and including the task
+    private int[] weight;       // heap priority
+    private int[] left;
+    private int[] right;
+    private int nodeCount;
+    private int freeList;       // chained through left[]
+    private int root;
+    private int splitLow;       // results of split()
+    private int splitHigh;
+    private int size;
+    
+    private final SplittableRandom random = new SplittableRandom(0x5EEDL);
+    private int now;
+    private long admitted;
+    private long rejected;
+    
+    public EdfAdmissionController() {
+        this(0);
+    }
+    
+    public EdfAdmissionController(int startTime) {
+        this.now = startTime;
+        int capacity = 64;
+        deadline = new int[capacity];
+        work = new long[capacity];
+        totalWork = new long[capacity];
+        minSlack = new long[capacity];
+        weight = new int[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        minSlack[0] = NO_SLACK_LIMIT;
+    }
+    
+    /**
+     * Admits {@code task} if EDF can still meet every admitted deadline with
+     * it. The clock is first moved up to the task's arrival time; a task
+     * arriving in the past counts as arriving now. Rejected tasks leave no
+     * trace.
+     */
+    public boolean tryAdmit(Task task) {
+        if (task.getBurstTime() <= 0) {
+            throw new IllegalArgumentException("Burst time must be positive: " + task);
+        }
+        if (task.getArrivalTime() > now) {
+            advanceTo(task.getArrivalTime());
+        }
+        if (task.getDeadline() <= 0) {
+            admitted++;
+            return true;
+        }
+        if (!fits(task.getBurstTime(), task.getDeadline())) {
+            rejected++;
+            return false;
+        }
+        insert(task.getBurstTime(), task.getDeadline());
+        admitted++;
+        return true;
+    }
+    
+    /** Whether a task with this burst and deadline, arriving now, would be admitted. */
+    public boolean canAdmit(int burstTime, int deadline) {
+        if (burstTime <= 0) {
+            throw new IllegalArgumentException("Burst time must be positive: " + burstTime);
+        }
+        return deadline <= 0 || fits(burstTime, deadline);
+    }
+    
+    /**
+     * Moves the clock to {@code time}, running the admitted work in EDF
+     * order meanwhile. Times before the current one are ignored.
+     */
+    public void advanceTo(int time) {
+        long elapsed = (long) time - now;
+        if (elapsed <= 0) return;
+        now = time;
+        while (root != 0 && elapsed > 0) {
+            long first = firstWork(root);
+            if (first <= elapsed) {
+                elapsed -= first;
+                root = removeFirst(root);
+                size--;
+            } else {
+                addToFirst(root, -elapsed);
+                elapsed = 0;
+            }
+        }
+    }
+    
+    public int currentTime() {
+        return now;
+    }
+    
+    /** Admitted tasks with a deadline that still have work left. */
+    public int size() {
+        return size;
+    }
+    
+    /** Work left of the admitted tasks with a deadline. */
+    public long getBacklog() {
+        return totalWork[root];
+    }
+    
+    /**
+     * Largest burst that a task due after every admitted deadline could
+     * still add, or {@code Long.MAX_VALUE} with nothing outstanding.
+     */
+    public long getMinimumSlack() {
+        return root == 0 ? Long.MAX_VALUE : minSlack[root] - now;
+    }
+    
+    public long getAdmittedCount() {
+        return admitted;
+    }
+    
+    public long getRejectedCount() {
+        return rejected;
+    }
+    
+    /**
+     * The tasks an admission controller would accept, offered one by one in
+     * arrival order (ties in list order). Scheduling them with
+     * {@link EarliestDeadlineFirstScheduler} misses no deadline.
+     */
+    public static List<Task> admissible(List<Task> tasks) {
+        List<Task> sorted = new ArrayList<>(tasks);
+        sorted.sort(Comparator.comparingInt(Task::getArrivalTime));
+        EdfAdmissionController controller = new EdfAdmissionController(
+            sorted.isEmpty() ? 0 : sorted.get(0).getArrivalTime());
+        List<Task> accepted = new ArrayList<>();
+        for (Task task : sorted) {
+            if (controller.tryAdmit(task)) {
+                accepted.add(task);
+            }
+        }
+        return accepted;
+    }
+    
+    // ----- Processor-demand check -----
+    
+    private boolean fits(int burstTime, int taskDeadline) {
+        // One descent: work due at or before the deadline, and the least slack due after it
+        long workBefore = 0;
+        long slackAfter = NO_SLACK_LIMIT;
+        int x = root;
+        while (x != 0) {
+            if (deadline[x] <= taskDeadline) {
+                workBefore += totalWork[left[x]] + work[x];
+                x = right[x];
+            } else {
+                long upToX = workBefore + totalWork[left[x]] + work[x];
+                slackAfter = Math.min(slackAfter, Math.min(deadline[x] - upToX, minSlack[right[x]] - upToX));
+                x = left[x];
+            }
+        }
+        return (long) now + workBefore + burstTime <= taskDeadline
+            && (long) now + burstTime <= slackAfter;
+    }
+    
+    // ----- Treap -----
+    
+    private void insert(int burstTime, int taskDeadline) {
+        int node = allocate(burstTime, taskDeadline);
+        // Equal deadlines keep admission order, as EDF falls back to arrival order
+        split(root, taskDeadline);
+        int high = splitHigh;
+        root = merge(merge(splitLow, node), high);
+        size++;
+    }
+    
+    private int allocate(int burstTime, int taskDeadline) {
+        int node;
+        if (freeList != 0) {
+            node = freeList;
+            freeList = left[node];
+        } else {
+            node = ++nodeCount;
+            if (node == deadline.length) {
+                grow();
+            }
+        }
+        deadline[node] = taskDeadline;
+        work[node] = burstTime;
+        weight[node] = random.nextInt();
+        left[node] = 0;
+        right[node] = 0;
+        update(node);
+        return node;
+    }
+    
+    private void grow() {
+        int capacity = deadline.length * 2;
+        deadline = Arrays.copyOf(deadline, capacity);
+        work = Arrays.copyOf(work, capacity);
+        totalWork = Arrays.copyOf(totalWork, capacity);
+        minSlack = Arrays.copyOf(minSlack, capacity);
+        weight = Arrays.copyOf(weight, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+    }
+    
+    private void update(int x) {
+        int l = left[x];
+        int r = right[x];
+        long upToX = totalWork[l] + work[x];
+        totalWork[x] = upToX + totalWork[r];
+        minSlack[x] = Math.min(minSlack[l], Math.min(deadline[x] - upToX, minSlack[r] - upToX));
+    }
+    
+    /** Splits into {@code splitLow}, nodes with deadline {@code <= key}, and {@code splitHigh}, the rest. */
+    private void split(int x, int key) {
+        if (x == 0) {
+            splitLow = 0;
+            splitHigh = 0;
+        } else if (deadline[x] <= key) {
+            split(right[x], key);
+            right[x] = splitLow;
+            update(x);
+            splitLow = x;
+        } else {
+            split(left[x], key);
+            left[x] = splitHigh;
+            update(x);
+            splitHigh = x;
+        }
+    }
+    
+    private int merge(int a, int b) {
+        if (a == 0) return b;
+        if (b == 0) return a;
+        if (weight[a] > weight[b]) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        update(b);
+        return b;
+    }
+    
+    private long firstWork(int x) {
+        while (left[x] != 0) {
+            x = left[x];
+        }
+        return work[x];
+    }
+    
+    private int removeFirst(int x) {
+        if (left[x] == 0) {
+            int rest = right[x];
+            left[x] = freeList;
+            freeList = x;
+            return rest;
+        }
+        left[x] = removeFirst(left[x]);
+        update(x);
+        return x;
+    }
+    
+    private void addToFirst(int x, long delta) {
+        if (left[x] == 0) {
+            work[x] += delta;
+        } else {
+            addToFirst(left[x], delta);
+        }
+        update(x);
+    }
+}
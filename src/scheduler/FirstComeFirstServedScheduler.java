@@ -6,62 +6,65 @@ import java.util.*;
  * First Come First Served (FCFS) - Baseline algorithm
  * Processes tasks in order of arrival
  */
-public class FirstComeFirstServedScheduler implements Scheduler {
+public class FirstComeFirstServedScheduler implements StreamingScheduler, SchedulingPolicy {
     
     @Override
     public SchedulingResult schedule(List<Task> tasks) {
-        SchedulingResult result = new SchedulingResult(getAlgorithmName());
-        List<Task> taskList = new ArrayList<>();
-        for (Task t : tasks) {
-            taskList.add(new Task(t)); // Create copies
-        }
-        result.setTasks(taskList);
-        
-        // Sort by arrival time
-        taskList.sort(Comparator.comparingInt(Task::getArrivalTime));
-        
-        Queue<Task> readyQueue = new LinkedList<>();
-        
-        int currentTime = 0;
-        int taskIndex = 0;
-        
-        while (taskIndex < taskList.size() || !readyQueue.isEmpty()) {
-            // Add all tasks that have arrived
-            while (taskIndex < taskList.size() && 
-                   taskList.get(taskIndex).getArrivalTime() <= currentTime) {
-                readyQueue.offer(taskList.get(taskIndex));
-                taskIndex++;
-            }
-            
-            if (readyQueue.isEmpty()) {
-                // No tasks ready, advance time
-                if (taskIndex < taskList.size()) {
-                    currentTime = taskList.get(taskIndex).getArrivalTime();
-                }
-                continue;
-            }
-            
-            // Process first task in queue
-            Task current = readyQueue.poll();
-            
-            if (current.getStartTime() < 0) {
-                current.setStartTime(currentTime);
-            }
-            
-            // Execute until completion (non-preemptive)
-            int executionTime = current.getBurstTime();
-            result.addTimeSlot(new TimeSlot(current, currentTime, currentTime + executionTime));
-            currentTime += executionTime;
-            current.setCompletionTime(currentTime);
-        }
-        
-        result.calculateStatistics();
-        return result;
+        return SimulationEngine.simulate(getAlgorithmName(), tasks, this);
+    }
+    
+    @Override
+    public SchedulingResult schedule(TaskTable table) {
+        return SimulationEngine.simulate(getAlgorithmName(), table, this);
+    }
+    
+    @Override
+    public SchedulingResult schedule(SchedulingWorkspace workspace) {
+        return SimulationEngine.simulate(getAlgorithmName(), workspace, this);
+    }
+    
+    @Override
+    public void schedule(Iterator<Task> arrivals, ScheduleListener listener) {
+        SimulationEngine.simulate(arrivals, this, listener);
+    }
+    
+    @Override
+    public boolean isFifo() {
+        return true;
+    }
+    
+    @Override
+    public int getReadyQueueKey(Task task) {
+        return 0; // Arrival order
+    }
+    
+    @Override
+    public int[] getReadyQueueKeys(TaskTable table) {
+        return table.arrivalTimes; // Rows are in arrival order, so this is row order
+    }
+    
+    @Override
+    public ReadyQueue createReadyQueue(TaskTable table) {
+        return new TaskRingQueue(Math.min(table.size(), 1024));
+    }
+    
+    @Override
+    public ReadyQueue createReadyQueue(SchedulingWorkspace workspace) {
+        return workspace.ringQueue(Integer.MAX_VALUE);
+    }
+    
+    @Override
+    public boolean isPreemptive() {
+        return false;
     }
     
     @Override
     public String getAlgorithmName() {
         return "First Come First Served (FCFS)";
     }
+    
+    @Override
+    public String getConfigurationKey() {
+        return getClass().getName();
+    }
 }
-
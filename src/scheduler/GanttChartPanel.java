@@ -0,0 +1,468 @@
+package scheduler;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.*;
+import java.util.*;
+import java.util.List;
+
+/**
+ * Gantt chart with one lane per task, zoom and pan
+ *
+ * Only slots that intersect the clip are painted. Each lane keeps its slots
+ * sorted by time, so the first visible slot is found by binary search, and
+ * runs of slots narrower than a couple of pixels are merged into a single
+ * aggregated bar. Paint cost therefore depends on the visible area, not on
+ * the length of the schedule.
+ */
+public class GanttChartPanel extends JComponent {
+    private static final long serialVersionUID = 1L;
+    
+    private static final int LANE_HEIGHT = 22;
+    private static final int BAR_INSET = 3;
+    private static final int MARGIN = 10;
+    private static final int LABEL_WIDTH = 110;
+    private static final int AXIS_HEIGHT = 24;
+    private static final int MIN_BAR_WIDTH = 2; // narrower slots are merged
+    private static final int MIN_TICK_SPACING = 70;
+    private static final int MAX_VIEW_WIDTH = 1 << 23; // keeps Java2D coordinates exact
+    private static final double MAX_PIXELS_PER_UNIT = 100;
+    private static final double ZOOM_STEP = 1.25;
+    
+    private static final Color[] PALETTE = {
+        new Color(66, 133, 244),  // Google Blue
+        new Color(15, 157, 88),   // Google Green
+        new Color(219, 68, 55),   // Google Red
+        new Color(244, 180, 0),   // Google Yellow
+        new Color(171, 71, 188),  // Purple
+        new Color(0, 172, 193),   // Cyan
+        new Color(255, 112, 67),  // Deep Orange
+        new Color(158, 158, 158)  // Grey
+    };
+    private static final Color SHADOW = new Color(0, 0, 0, 30);
+    private static final Color GRID = new Color(235, 235, 235);
+    
+    private Lanes lanes = Lanes.EMPTY;
+    private double pixelsPerUnit = 1;
+    private boolean fitToWidth = true;
+    private final JComponent laneHeader = new LaneHeader();
+    private final JComponent timeAxis = new TimeAxis();
+    
+    public GanttChartPanel() {
+        setOpaque(true);
+        setBackground(Color.WHITE);
+        setToolTipText("");
+        
+        MouseAdapter panner = new MouseAdapter() {
+            private Point anchor;
+            
+            @Override
+            public void mousePressed(MouseEvent e) {
+                anchor = e.getLocationOnScreen();
+            }
+            
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                JViewport viewport = getViewport();
+                if (anchor == null || viewport == null) return;
+                Point now = e.getLocationOnScreen();
+                Point view = viewport.getViewPosition();
+                view.translate(anchor.x - now.x, anchor.y - now.y);
+                setViewPosition(viewport, view);
+                anchor = now;
+            }
+            
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                if (e.isControlDown()) {
+                    zoom(Math.pow(ZOOM_STEP, -e.getPreciseWheelRotation()), e.getX());
+                } else {
+                    // Plain wheel keeps scrolling the enclosing scroll pane
+                    getParent().dispatchEvent(SwingUtilities.convertMouseEvent(GanttChartPanel.this, e, getParent()));
+                }
+            }
+        };
+        addMouseListener(panner);
+        addMouseMotionListener(panner);
+        addMouseWheelListener(panner);
+    }
+    
+    /** Wraps the chart in a scroll pane with a lane header and a time axis. */
+    public JScrollPane createScrollPane() {
+        JScrollPane scrollPane = new JScrollPane(this);
+        scrollPane.setRowHeaderView(laneHeader);
+        scrollPane.setColumnHeaderView(timeAxis);
+        scrollPane.getVerticalScrollBar().setUnitIncrement(LANE_HEIGHT);
+        scrollPane.getHorizontalScrollBar().setUnitIncrement(MIN_TICK_SPACING / 2);
+        scrollPane.getViewport().addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                if (fitToWidth) {
+                    zoomToFit();
+                }
+            }
+        });
+        return scrollPane;
+    }
+    
+    /** Shows a new schedule, zoomed to fit the viewport width. */
+    public void setLanes(Lanes lanes) {
+        this.lanes = lanes;
+        zoomToFit();
+        laneHeader.revalidate();
+        laneHeader.repaint();
+        JViewport viewport = getViewport();
+        if (viewport != null) {
+            viewport.setViewPosition(new Point(0, 0));
+        }
+    }
+    
+    public void zoomIn() {
+        zoom(ZOOM_STEP, centerX());
+    }
+    
+    public void zoomOut() {
+        zoom(1 / ZOOM_STEP, centerX());
+    }
+    
+    public void zoomToFit() {
+        fitToWidth = true;
+        setPixelsPerUnit(fitPixelsPerUnit(), 0);
+    }
+    
+    // Zooms by factor while keeping the time under anchorX in place
+    private void zoom(double factor, int anchorX) {
+        fitToWidth = false;
+        setPixelsPerUnit(pixelsPerUnit * factor, anchorX);
+    }
+    
+    private void setPixelsPerUnit(double requested, int anchorX) {
+        double fit = fitPixelsPerUnit();
+        double max = Math.max(fit, Math.min(MAX_PIXELS_PER_UNIT,
+            (double) (MAX_VIEW_WIDTH - 2 * MARGIN) / Math.max(1, lanes.maxTime)));
+        double ppu = Math.max(fit, Math.min(max, requested));
+        JViewport viewport = getViewport();
+        double anchorTime = toTime(anchorX);
+        int anchorOffset = viewport != null ? anchorX - viewport.getViewPosition().x : 0;
+        
+        pixelsPerUnit = ppu;
+        // Resize right away so the new view position is not clamped to the old width
+        setSize(getPreferredSize());
+        timeAxis.setSize(timeAxis.getPreferredSize());
+        if (viewport != null) {
+            setViewPosition(viewport, new Point(toX(anchorTime) - anchorOffset, viewport.getViewPosition().y));
+        }
+        revalidate();
+        repaint();
+        timeAxis.repaint();
+    }
+    
+    private double fitPixelsPerUnit() {
+        JViewport viewport = getViewport();
+        int width = viewport != null && viewport.getWidth() > 0 ? viewport.getWidth() : 600;
+        return Math.max(1e-9, (double) (width - 2 * MARGIN) / Math.max(1, lanes.maxTime));
+    }
+    
+    private void setViewPosition(JViewport viewport, Point view) {
+        Dimension extent = viewport.getExtentSize();
+        view.x = Math.max(0, Math.min(view.x, getWidth() - extent.width));
+        view.y = Math.max(0, Math.min(view.y, getHeight() - extent.height));
+        viewport.setViewPosition(view);
+    }
+    
+    private JViewport getViewport() {
+        Container parent = getParent();
+        return parent instanceof JViewport ? (JViewport) parent : null;
+    }
+    
+    private int centerX() {
+        Rectangle visible = getVisibleRect();
+        return visible.x + visible.width / 2;
+    }
+    
+    private int toX(double time) {
+        return MARGIN + (int) Math.floor(time * pixelsPerUnit);
+    }
+    
+    private double toTime(int x) {
+        return (x - MARGIN) / pixelsPerUnit;
+    }
+    
+    @Override
+    public Dimension getPreferredSize() {
+        int width = toX(lanes.maxTime) + MARGIN;
+        return new Dimension(width, Math.max(LANE_HEIGHT, lanes.laneCount() * LANE_HEIGHT));
+    }
+    
+    @Override
+    public String getToolTipText(MouseEvent e) {
+        int lane = e.getY() / LANE_HEIGHT;
+        if (lane < 0 || lane >= lanes.laneCount()) return null;
+        int time = (int) Math.floor(toTime(e.getX()));
+        int i = lanes.firstEndingAfter(lane, time);
+        if (i >= lanes.laneEnd(lane) || lanes.starts[i] > time) return null;
+        return lanes.names[lane] + ": " + lanes.starts[i] + " - " + lanes.ends[i];
+    }
+    
+    @Override
+    protected void paintComponent(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        g.setColor(getBackground());
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+        if (lanes.laneCount() == 0) return;
+        
+        int firstLane = Math.max(0, clip.y / LANE_HEIGHT);
+        int lastLane = Math.min(lanes.laneCount() - 1, (clip.y + clip.height) / LANE_HEIGHT);
+        int fromTime = (int) Math.max(0, Math.floor(toTime(clip.x)));
+        int toTime = (int) Math.min(Integer.MAX_VALUE, Math.ceil(toTime(clip.x + clip.width)) + 1);
+        
+        g.setColor(GRID);
+        for (int lane = firstLane; lane <= lastLane; lane++) {
+            int y = (lane + 1) * LANE_HEIGHT - 1;
+            g.drawLine(clip.x, y, clip.x + clip.width, y);
+        }
+        
+        Graphics2D g2d = (Graphics2D) g;
+        FontMetrics fm = g2d.getFontMetrics();
+        for (int lane = firstLane; lane <= lastLane; lane++) {
+            paintLane(g2d, fm, lane, fromTime, toTime);
+        }
+    }
+    
+    private void paintLane(Graphics2D g2d, FontMetrics fm, int lane, int fromTime, int toTime) {
+        Color color = PALETTE[lane % PALETTE.length];
+        int[] starts = lanes.starts;
+        int[] ends = lanes.ends;
+        int end = lanes.laneEnd(lane);
+        int y = lane * LANE_HEIGHT + BAR_INSET;
+        int height = LANE_HEIGHT - 2 * BAR_INSET;
+        
+        int i = lanes.firstEndingAfter(lane, fromTime);
+        while (i < end && starts[i] < toTime) {
+            int x1 = toX(starts[i]);
+            int x2 = toX(ends[i]);
+            if (x2 - x1 >= MIN_BAR_WIDTH) {
+                int width = x2 - x1;
+                g2d.setColor(SHADOW);
+                g2d.fillRect(x1 + 2, y + 2, width, height);
+                g2d.setColor(color);
+                g2d.fillRect(x1, y, width, height);
+                g2d.setColor(Color.DARK_GRAY);
+                g2d.drawRect(x1, y, width, height);
+                paintLabel(g2d, fm, lanes.names[lane], x1, y, width, height);
+                i++;
+                continue;
+            }
+            // Merge every slot that starts before the next pixel column into one bar
+            int groupEnd = (int) Math.min(Integer.MAX_VALUE, Math.ceil(toTime(x1 + MIN_BAR_WIDTH)));
+            int next = lanes.firstStartingAtOrAfter(i + 1, end, groupEnd);
+            x2 = Math.max(x1 + 1, toX(ends[next - 1]));
+            g2d.setColor(color);
+            g2d.fillRect(x1, y, x2 - x1, height);
+            i = next;
+        }
+    }
+    
+    private static void paintLabel(Graphics2D g2d, FontMetrics fm, String label, int x, int y, int width, int height) {
+        if (width <= 25) return;
+        if (fm.stringWidth(label) > width - 4) {
+            label = label.substring(0, Math.min(label.length(), 3)) + ".";
+            if (fm.stringWidth(label) > width - 4) return;
+        }
+        g2d.setColor(Color.WHITE);
+        g2d.drawString(label, x + (width - fm.stringWidth(label)) / 2, y + height / 2 + fm.getAscent() / 2 - 2);
+    }
+    
+    /** Task names down the left edge, scrolled vertically with the chart. */
+    private final class LaneHeader extends JComponent {
+        private static final long serialVersionUID = 1L;
+        
+        LaneHeader() {
+            setOpaque(true);
+            setBackground(new Color(248, 248, 248));
+        }
+        
+        @Override
+        public Dimension getPreferredSize() {
+            return new Dimension(LABEL_WIDTH, GanttChartPanel.this.getPreferredSize().height);
+        }
+        
+        @Override
+        protected void paintComponent(Graphics g) {
+            Rectangle clip = g.getClipBounds();
+            g.setColor(getBackground());
+            g.fillRect(clip.x, clip.y, clip.width, clip.height);
+            int firstLane = Math.max(0, clip.y / LANE_HEIGHT);
+            int lastLane = Math.min(lanes.laneCount() - 1, (clip.y + clip.height) / LANE_HEIGHT);
+            FontMetrics fm = g.getFontMetrics();
+            for (int lane = firstLane; lane <= lastLane; lane++) {
+                int y = lane * LANE_HEIGHT;
+                g.setColor(PALETTE[lane % PALETTE.length]);
+                g.fillRect(4, y + BAR_INSET, 6, LANE_HEIGHT - 2 * BAR_INSET);
+                g.setColor(Color.BLACK);
+                g.drawString(lanes.names[lane], 14, y + LANE_HEIGHT / 2 + fm.getAscent() / 2 - 2);
+            }
+        }
+    }
+    
+    /** Time ruler across the top, scrolled horizontally with the chart. */
+    private final class TimeAxis extends JComponent {
+        private static final long serialVersionUID = 1L;
+        
+        TimeAxis() {
+            setOpaque(true);
+            setBackground(Color.WHITE);
+        }
+        
+        @Override
+        public Dimension getPreferredSize() {
+            return new Dimension(GanttChartPanel.this.getPreferredSize().width, AXIS_HEIGHT);
+        }
+        
+        @Override
+        protected void paintComponent(Graphics g) {
+            Rectangle clip = g.getClipBounds();
+            g.setColor(getBackground());
+            g.fillRect(clip.x, clip.y, clip.width, clip.height);
+            g.setColor(Color.GRAY);
+            g.drawLine(clip.x, AXIS_HEIGHT - 1, clip.x + clip.width, AXIS_HEIGHT - 1);
+            if (lanes.laneCount() == 0) return;
+            
+            long step = tickStep();
+            long first = Math.max(0, (long) Math.floor(toTime(clip.x - MIN_TICK_SPACING)) / step * step);
+            long last = Math.min(lanes.maxTime, (long) Math.ceil(toTime(clip.x + clip.width)));
+            g.setColor(Color.BLACK);
+            for (long t = first; t <= last; t += step) {
+                int x = toX(t);
+                g.drawLine(x, AXIS_HEIGHT - 6, x, AXIS_HEIGHT - 1);
+                g.drawString(String.valueOf(t), x - 5, AXIS_HEIGHT - 9);
+            }
+        }
+        
+        // Smallest 1/2/5 x 10^k step that keeps labels MIN_TICK_SPACING apart
+        private long tickStep() {
+            double raw = MIN_TICK_SPACING / pixelsPerUnit;
+            long magnitude = 1;
+            while (magnitude * 10 <= raw) {
+                magnitude *= 10;
+            }
+            for (long m : new long[] {1, 2, 5, 10}) {
+                if (m * magnitude >= raw) return m * magnitude;
+            }
+            return 10 * magnitude;
+        }
+    }
+    
+    /**
+     * Immutable lane layout of a schedule: one lane per task in order of first
+     * dispatch, with each lane's slots stored contiguously and sorted by start
+     * time. Building it is O(n log n), so it can be done off the event
+     * dispatch thread.
+     */
+    public static final class Lanes {
+        static final Lanes EMPTY = new Lanes(new String[0], new int[1], new int[0], new int[0], 0);
+        
+        private final String[] names;
+        private final int[] laneOffsets; // lane i owns slots [laneOffsets[i], laneOffsets[i + 1])
+        private final int[] starts;
+        private final int[] ends;
+        private final int maxTime;
+        
+        private Lanes(String[] names, int[] laneOffsets, int[] starts, int[] ends, int maxTime) {
+            this.names = names;
+            this.laneOffsets = laneOffsets;
+            this.starts = starts;
+            this.ends = ends;
+            this.maxTime = maxTime;
+        }
+        
+        public static Lanes of(List<TimeSlot> schedule) {
+            Map<Task, Integer> laneOf = new IdentityHashMap<>();
+            List<Task> laneTasks = new ArrayList<>();
+            int[] slotLanes = new int[schedule.size()];
+            int[] counts = new int[16];
+            int maxTime = 0;
+            for (int i = 0; i < slotLanes.length; i++) {
+                TimeSlot slot = schedule.get(i);
+                Integer lane = laneOf.get(slot.getTask());
+                if (lane == null) {
+                    lane = laneTasks.size();
+                    laneOf.put(slot.getTask(), lane);
+                    laneTasks.add(slot.getTask());
+                    if (lane == counts.length) {
+                        counts = Arrays.copyOf(counts, lane * 2);
+                    }
+                }
+                slotLanes[i] = lane;
+                counts[lane]++;
+                maxTime = Math.max(maxTime, slot.getEndTime());
+            }
+            
+            int laneCount = laneTasks.size();
+            int[] laneOffsets = new int[laneCount + 1];
+            for (int lane = 0; lane < laneCount; lane++) {
+                laneOffsets[lane + 1] = laneOffsets[lane] + counts[lane];
+            }
+            // Pack (start, end) so a plain sort orders each lane by start time
+            long[] packed = new long[slotLanes.length];
+            int[] fill = Arrays.copyOf(laneOffsets, laneCount);
+            for (int i = 0; i < slotLanes.length; i++) {
+                TimeSlot slot = schedule.get(i);
+                packed[fill[slotLanes[i]]++] = ((long) slot.getStartTime() << 32) | slot.getEndTime();
+            }
+            int[] starts = new int[packed.length];
+            int[] ends = new int[packed.length];
+            String[] names = new String[laneCount];
+            for (int lane = 0; lane < laneCount; lane++) {
+                Arrays.sort(packed, laneOffsets[lane], laneOffsets[lane + 1]);
+                names[lane] = laneTasks.get(lane).getName();
+            }
+            for (int i = 0; i < packed.length; i++) {
+                starts[i] = (int) (packed[i] >>> 32);
+                ends[i] = (int) packed[i];
+            }
+            return new Lanes(names, laneOffsets, starts, ends, maxTime);
+        }
+        
+        public int laneCount() {
+            return names.length;
+        }
+        
+        public int getMaxTime() {
+            return maxTime;
+        }
+        
+        int laneEnd(int lane) {
+            return laneOffsets[lane + 1];
+        }
+        
+        // A task never overlaps itself, so ends are sorted within a lane as well
+        int firstEndingAfter(int lane, int time) {
+            int lo = laneOffsets[lane];
+            int hi = laneOffsets[lane + 1];
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (ends[mid] > time) {
+                    hi = mid;
+                } else {
+                    lo = mid + 1;
+                }
+            }
+            return lo;
+        }
+        
+        int firstStartingAtOrAfter(int from, int to, int time) {
+            int lo = from;
+            int hi = to;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (starts[mid] >= time) {
+                    hi = mid;
+                } else {
+                    lo = mid + 1;
+                }
+            }
+            return lo;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package scheduler;
+
+/**
+ * Ready queue ordered by a {@link SchedulingPolicy}'s primitive key
+ * 
+ * Backed by a {@link TaskHeap}; an arrival preempts the running task only
+ * if its key is strictly smaller. Keys are read from the policy's key column,
+ * fetched once per run, so offers and comparisons make no calls into it.
+ */
+public final class HeapReadyQueue implements ReadyQueue {
+    private final TaskTable table;
+    private final TaskHeap heap;
+    private int[] keys;
+    
+    public HeapReadyQueue(SchedulingPolicy policy, TaskTable table) {
+        this.table = table;
+        this.heap = new TaskHeap(Math.min(table.size(), 1024));
+        this.keys = policy.getReadyQueueKeys(table);
+    }
+    
+    // Empties the queue for reuse by another policy over the same table
+    void reset(SchedulingPolicy policy) {
+        keys = policy.getReadyQueueKeys(table);
+        heap.clear();
+    }
+    
+    private long keyOf(int row) {
+        return TaskHeap.packKey(keys[row], row);
+    }
+    
+    @Override
+    public void offer(int row) {
+        heap.offer(keyOf(row));
+    }
+    
+    /**
+     * Offers the batch one by one if it is small next to the queue, otherwise
+     * appends it and rebuilds the heap in linear time.
+     */
+    @Override
+    public int offerAll(int fromRow, int toRow) {
+        long best = Long.MAX_VALUE;
+        boolean rebuild = toRow - fromRow > heap.size();
+        for (int row = fromRow; row < toRow; row++) {
+            long key = keyOf(row);
+            if (rebuild) {
+                heap.addUnordered(key);
+            } else {
+                heap.offer(key);
+            }
+            best = Math.min(best, key);
+        }
+        if (rebuild) {
+            heap.heapify();
+        }
+        return TaskHeap.rowOf(best);
+    }
+    
+    @Override
+    public int poll() {
+        return heap.pollRow();
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return heap.isEmpty();
+    }
+    
+    @Override
+    public int size() {
+        return heap.size();
+    }
+    
+    @Override
+    public boolean preempts(int arrivingRow, int runningRow) {
+        return keyOf(arrivingRow) < keyOf(runningRow);
+    }
+}
@@ -0,0 +1,209 @@
+package scheduler;
+
+import java.util.*;
+
+/**
+ * A schedule that is kept up to date as tasks are added, removed or edited
+ *
+ * While the scheduler runs, the {@link SimulationEngine} takes
+ * {@link SimulationCheckpoint}s at decision points: the ready queue, the run
+ * state of the tasks in it and the length of the schedule so far. After an
+ * edit, nothing before the affected task's arrival can have changed, so the
+ * run resumes from the last checkpoint taken before it and only the rest of
+ * the schedule is simulated again. Checkpoints before the edit stay valid for
+ * later edits.
+ *
+ * Works with the engine-based schedulers: FCFS, SJF, SRTF, EDF, Priority,
+ * Round Robin and MLFQ. Any other scheduler is simply rerun in full.
+ *
+ * As with a {@link SchedulingWorkspace}, the result is the schedule's own:
+ * each update winds it back to the checkpoint and extends it in place, so
+ * copy out what you need, or take a {@link #getSnapshot()}, before the next
+ * edit. An update that fails, e.g. because its thread was interrupted,
+ * leaves no result and the next one reruns the scheduler in full. Updates
+ * are serialized, so an instance may be shared with a background worker.
+ */
+public final class IncrementalSchedule {
+    private final Scheduler scheduler;
+    private TaskTable table;
+    private SchedulingResult result;
+    private List<SimulationCheckpoint> checkpoints = new ArrayList<>();
+    private int resumeTime;
+    
+    public IncrementalSchedule(Scheduler scheduler, List<Task> tasks) {
+        this(scheduler, TaskTable.fromTasks(tasks));
+    }
+    
+    /** Schedules {@code table}, which is owned by this schedule from now on. */
+    public IncrementalSchedule(Scheduler scheduler, TaskTable table) {
+        this.scheduler = scheduler;
+        update(table, 0, Integer.MIN_VALUE);
+    }
+    
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+    
+    /** The current schedule, or null after a failed update. */
+    public synchronized SchedulingResult getResult() {
+        return result;
+    }
+    
+    /**
+     * Read-only copy of the current schedule that later updates leave alone,
+     * so it can be shared, as through the result cache of
+     * {@link SchedulerManager}; null after a failed update.
+     */
+    public synchronized SchedulingResult getSnapshot() {
+        if (result == null) {
+            return null;
+        }
+        // A result without a table comes from a full rerun, which is never updated in place
+        SchedulingResult snapshot = result.getTaskTable() != null ? result.copy() : result;
+        snapshot.freeze();
+        return snapshot;
+    }
+    
+    public synchronized TaskTable getTaskTable() {
+        return table;
+    }
+    
+    /** Whether edits resume from checkpoints rather than rerunning the scheduler in full. */
+    public boolean isIncremental() {
+        return scheduler instanceof SchedulingPolicy || scheduler instanceof RoundRobinScheduler
+            || scheduler instanceof MLFQScheduler;
+    }
+    
+    /** Time the last update resumed from; 0 after a full run. */
+    public synchronized int getResumeTime() {
+        return resumeTime;
+    }
+    
+    public synchronized int getCheckpointCount() {
+        return checkpoints.size();
+    }
+    
+    public synchronized SchedulingResult addTask(Task task) {
+        int row = table.insertionRow(task.getArrivalTime());
+        return update(table.withRowInserted(task), row, task.getArrivalTime());
+    }
+    
+    /** Removes the first task with {@code taskId}. */
+    public synchronized SchedulingResult removeTask(int taskId) {
+        int row = requireRow(taskId);
+        return update(table.withRowRemoved(row), row, table.getArrivalTime(row));
+    }
+    
+    /** Changes the burst time of the first task with {@code taskId}. */
+    public synchronized SchedulingResult setBurstTime(int taskId, int burstTime) {
+        if (burstTime <= 0) {
+            throw new IllegalArgumentException("Burst time must be positive: " + burstTime);
+        }
+        int row = requireRow(taskId);
+        return update(table.withBurstTime(row, burstTime), row, table.getArrivalTime(row));
+    }
+    
+    /**
+     * Replaces the whole task list, e.g. after an arbitrary edit in a task
+     * table. The run resumes before the first task, in arrival order, that
+     * differs in arrival, burst, deadline or priority.
+     */
+    public synchronized SchedulingResult setTasks(List<Task> tasks) {
+        TaskTable next = TaskTable.fromTasks(tasks);
+        int row = 0;
+        int common = Math.min(table.size(), next.size());
+        while (row < common && sameInputs(table, next, row)) {
+            row++;
+        }
+        int arrival = Integer.MAX_VALUE;
+        if (row < table.size()) arrival = table.getArrivalTime(row);
+        if (row < next.size()) arrival = Math.min(arrival, next.getArrivalTime(row));
+        return update(next, row, arrival);
+    }
+    
+    private int requireRow(int taskId) {
+        int row = table.rowOf(taskId);
+        if (row < 0) {
+            throw new IllegalArgumentException("No task with id " + taskId);
+        }
+        return row;
+    }
+    
+    private static boolean sameInputs(TaskTable a, TaskTable b, int row) {
+        return a.getArrivalTime(row) == b.getArrivalTime(row) && a.getBurstTime(row) == b.getBurstTime(row)
+            && a.getDeadline(row) == b.getDeadline(row) && a.getPriority(row) == b.getPriority(row);
+    }
+    
+    /**
+     * Schedules {@code next}, which differs from the current table from
+     * {@code changedRow} on, the first change arriving at {@code changedArrival}.
+     */
+    private SchedulingResult update(TaskTable next, int changedRow, int changedArrival) {
+        ReadyQueue readyQueue = createReadyQueue(next);
+        if (readyQueue == null) {
+            result = scheduler.schedule(next);
+            table = next;
+            return result;
+        }
+        
+        int kept = validCheckpoints(changedRow, changedArrival);
+        checkpoints.subList(kept, checkpoints.size()).clear();
+        SimulationCheckpoint from = kept > 0 ? checkpoints.get(kept - 1) : null;
+        if (from != null) {
+            from.restore(table, next, readyQueue);
+            result.rewind(next, from);
+        } else {
+            result = new SchedulingResult(scheduler.getAlgorithmName(), next);
+        }
+        table = next;
+        resumeTime = from != null ? from.time : 0;
+        try {
+            SimulationEngine.resume(result, next, readyQueue, isPreemptive(), from, checkpoints);
+        } catch (RuntimeException e) {
+            // Half a run: start over in full next time
+            checkpoints.clear();
+            result = null;
+            throw e;
+        }
+        return result;
+    }
+    
+    // Checkpoints are taken in time order, so the valid ones form a prefix
+    private int validCheckpoints(int changedRow, int changedArrival) {
+        int lo = 0;
+        int hi = checkpoints.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            SimulationCheckpoint checkpoint = checkpoints.get(mid);
+            // The run up to the checkpoint never looked at a changed row
+            if (checkpoint.nextRow <= changedRow && checkpoint.time < changedArrival) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+    
+    private ReadyQueue createReadyQueue(TaskTable next) {
+        if (scheduler instanceof SchedulingPolicy) {
+            return ((SchedulingPolicy) scheduler).createReadyQueue(next);
+        }
+        if (scheduler instanceof RoundRobinScheduler) {
+            int quantum = ((RoundRobinScheduler) scheduler).getQuantum();
+            return new TaskRingQueue(Math.min(next.size(), 1024), quantum);
+        }
+        if (scheduler instanceof MLFQScheduler) {
+            MLFQScheduler mlfq = (MLFQScheduler) scheduler;
+            return new MultiLevelReadyQueue(next, mlfq.getQuanta(), mlfq.getBoostPeriod());
+        }
+        return null;
+    }
+    
+    private boolean isPreemptive() {
+        if (scheduler instanceof SchedulingPolicy) {
+            return ((SchedulingPolicy) scheduler).isPreemptive();
+        }
+        return scheduler instanceof MLFQScheduler;
+    }
+}
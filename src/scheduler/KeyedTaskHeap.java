@@ -0,0 +1,115 @@
+package scheduler;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of {@link Task} objects keyed by a primitive key and a
+ * sequence number
+ *
+ * The streaming counterpart of {@link TaskHeap}: tasks are ordered by an
+ * {@code int} key, such as the policy's
+ * {@link SchedulingPolicy#getReadyQueueKey(Task)} or an arrival time, and
+ * ties by a {@code long} sequence number that never wraps, so equal keys keep
+ * arrival or submission order. Comparisons are primitive compares in this
+ * one class; unlike a {@code PriorityQueue} with a {@code Comparator}, there
+ * is no call per comparison that could turn megamorphic when several
+ * policies share the JVM.
+ */
+public final class KeyedTaskHeap {
+    private int[] keys;
+    private long[] sequences;
+    private Task[] tasks;
+    private int size;
+
+    public KeyedTaskHeap(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        keys = new int[capacity];
+        sequences = new long[capacity];
+        tasks = new Task[capacity];
+    }
+
+    /** Whether (key, sequence) orders before (otherKey, otherSequence). */
+    public static boolean precedes(int key, long sequence, int otherKey, long otherSequence) {
+        return key < otherKey || (key == otherKey && sequence < otherSequence);
+    }
+
+    public boolean isEmpty() { return size == 0; }
+    public int size() { return size; }
+
+    public void clear() {
+        Arrays.fill(tasks, 0, size, null);
+        size = 0;
+    }
+
+    public void offer(Task task, int key, long sequence) {
+        if (size == keys.length) {
+            int capacity = size * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            sequences = Arrays.copyOf(sequences, capacity);
+            tasks = Arrays.copyOf(tasks, capacity);
+        }
+        // Sift up
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!precedes(key, sequence, keys[parent], sequences[parent])) {
+                break;
+            }
+            move(parent, i);
+            i = parent;
+        }
+        set(i, task, key, sequence);
+    }
+
+    /** Key of the head; the heap must not be empty. */
+    public int peekKey() {
+        return keys[0];
+    }
+
+    /** Sequence number of the head; the heap must not be empty. */
+    public long peekSequence() {
+        return sequences[0];
+    }
+
+    /** Removes and returns the task with the smallest key; the heap must not be empty. */
+    public Task poll() {
+        Task top = tasks[0];
+        int last = --size;
+        int key = keys[last];
+        long sequence = sequences[last];
+        Task task = tasks[last];
+        tasks[last] = null;
+        if (last == 0) {
+            return top;
+        }
+        // Sift down
+        int half = size >>> 1;
+        int i = 0;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && precedes(keys[right], sequences[right], keys[child], sequences[child])) {
+                child = right;
+            }
+            if (!precedes(keys[child], sequences[child], key, sequence)) {
+                break;
+            }
+            move(child, i);
+            i = child;
+        }
+        set(i, task, key, sequence);
+        return top;
+    }
+
+    private void move(int from, int to) {
+        keys[to] = keys[from];
+        sequences[to] = sequences[from];
+        tasks[to] = tasks[from];
+    }
+
+    private void set(int i, Task task, int key, long sequence) {
+        keys[i] = key;
+        sequences[i] = sequence;
+        tasks[i] = task;
+    }
+}
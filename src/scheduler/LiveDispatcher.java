@@ -0,0 +1,387 @@
+package scheduler;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Online dispatcher: runs a greedy {@link SchedulingPolicy} on tasks that
+ * are submitted while it is running
+ *
+ * Producers call {@link #submit(Task)} from any thread. Submissions go into
+ * one of several lock-free queues picked by thread, so many producers do
+ * not contend on a single monitor or queue, only on one short compare-and-set
+ * of the time bound below; the single dispatcher
+ * thread drains them, orders ready tasks by the policy and preempts the
+ * running task when the policy is preemptive, exactly like the offline
+ * {@link SimulationEngine}.
+ *
+ * Time is either logical, advancing as fast as the dispatcher can work, or
+ * wall-clock, where one time unit is a fixed real duration and the
+ * dispatcher sleeps while a task "runs". Time slots and completions are
+ * published to subscribed {@link ScheduleListener}s on the dispatcher
+ * thread, so listeners must be quick and must not block.
+ *
+ * Submitted tasks are copied; the copy's arrival time is moved up to the
+ * current clock if it lies in the past. A task whose arrival time lies in the
+ * future waits until the clock gets there. A task is rejected if the work
+ * accepted so far could then run past {@link Integer#MAX_VALUE}, the bound
+ * {@link TaskTable#checkTimeRange()} puts on offline runs.
+ */
+public final class LiveDispatcher implements AutoCloseable {
+    
+    /** How the dispatcher clock advances. */
+    public enum ClockMode { LOGICAL, WALL }
+    
+    private static final int RUNNING = 0;
+    private static final int SHUTDOWN = 1; // no new submissions, finishing accepted work
+    private static final int STOPPED = 2;
+    
+    private final String name;
+    private final SchedulingPolicy policy;
+    private final boolean fifo;
+    private final boolean preemptive;
+    private final ClockMode clockMode;
+    private final long nanosPerUnit;
+    private final ConcurrentLinkedQueue<Task>[] stripes;
+    private final List<ScheduleListener> listeners = new CopyOnWriteArrayList<>();
+    private final LongAdder submitted = new LongAdder();
+    private final AtomicLong endBound = new AtomicLong(); // accepted work run back to back
+    private final Thread dispatcher;
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    private volatile int state = RUNNING;
+    private volatile boolean parked;
+    private volatile int logicalTime;
+    private volatile long completed;
+    private final long startNanos = System.nanoTime();
+    
+    // Dispatcher-confined state
+    private final ArrayDeque<Task> fifoQueue;    // FIFO policies
+    private final KeyedTaskHeap readyHeap;       // the others, keyed by (policy key, sequence)
+    private final KeyedTaskHeap future = new KeyedTaskHeap(1024); // (arrival, sequence) of tasks not arrived yet
+    private long received;                       // submissions drained, also the next sequence number
+    private Task currentTask;
+    private long currentSequence;
+    private int lastSwitchTime;
+    
+    /** Dispatcher on a logical clock; the scheduler must also be a {@link SchedulingPolicy}. */
+    public LiveDispatcher(Scheduler scheduler) {
+        this(scheduler, ClockMode.LOGICAL, 0);
+    }
+    
+    /** Dispatcher on the wall clock, one time unit lasting one {@code unit}. */
+    public LiveDispatcher(Scheduler scheduler, TimeUnit unit) {
+        this(scheduler, ClockMode.WALL, unit.toNanos(1));
+    }
+    
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private LiveDispatcher(Scheduler scheduler, ClockMode clockMode, long nanosPerUnit) {
+        if (!(scheduler instanceof SchedulingPolicy)) {
+            throw new IllegalArgumentException(scheduler.getAlgorithmName() + " has no ready-queue policy");
+        }
+        SchedulingPolicy policy = (SchedulingPolicy) scheduler;
+        this.name = scheduler.getAlgorithmName();
+        this.policy = policy;
+        this.fifo = policy.isFifo();
+        this.preemptive = policy.isPreemptive() && !fifo;
+        this.fifoQueue = fifo ? new ArrayDeque<>() : null;
+        this.readyHeap = fifo ? null : new KeyedTaskHeap(1024);
+        this.clockMode = clockMode;
+        this.nanosPerUnit = nanosPerUnit;
+        
+        int stripeCount = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 4 - 1) << 1);
+        this.stripes = new ConcurrentLinkedQueue[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.dispatcher = new Thread(this::dispatchLoop, "dispatcher-" + name);
+        this.dispatcher.setDaemon(true);
+    }
+    
+    /**
+     * Starts the dispatcher thread. Tasks may be submitted before; the wall
+     * clock counts from the dispatcher's creation.
+     */
+    public LiveDispatcher start() {
+        dispatcher.start();
+        return this;
+    }
+    
+    public void subscribe(ScheduleListener listener) {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+    
+    public void unsubscribe(ScheduleListener listener) {
+        listeners.remove(listener);
+    }
+    
+    /**
+     * Submits a task; thread-safe and lock-free. Throws
+     * {@link RejectedExecutionException} once the dispatcher is shut down.
+     */
+    public void submit(Task task) {
+        // Counted before the state check, so shutdown waits for submissions in flight
+        submitted.increment();
+        if (state != RUNNING) {
+            submitted.decrement();
+            throw new RejectedExecutionException(name + " dispatcher is shut down");
+        }
+        if (task.getBurstTime() <= 0) {
+            submitted.decrement();
+            throw new IllegalArgumentException("Burst time must be positive: " + task);
+        }
+        Task copy = new Task(task.getId(), task.getName(), Math.max(task.getArrivalTime(), currentTime()),
+            task.getBurstTime(), task.getDeadline(), task.getPriority());
+        try {
+            reserve(copy);
+        } catch (IllegalArgumentException e) {
+            submitted.decrement();
+            throw e;
+        }
+        stripes[(int) Thread.currentThread().getId() & (stripes.length - 1)].offer(copy);
+        if (parked) {
+            LockSupport.unpark(dispatcher);
+        }
+    }
+    
+    // Extends the bound on every time the accepted work can reach, so the clock never overflows
+    private void reserve(Task task) {
+        while (true) {
+            long end = endBound.get();
+            long extended = TaskTable.endAfter(end, task.getId(), task.getArrivalTime(), task.getBurstTime());
+            if (endBound.compareAndSet(end, extended)) {
+                return;
+            }
+        }
+    }
+    
+    /** Current clock time in time units. */
+    public int currentTime() {
+        if (clockMode == ClockMode.LOGICAL) {
+            return logicalTime;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, (System.nanoTime() - startNanos) / nanosPerUnit);
+    }
+    
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+    
+    public long getCompletedCount() {
+        return completed;
+    }
+    
+    public ClockMode getClockMode() {
+        return clockMode;
+    }
+    
+    /** Stops accepting tasks; everything already submitted still runs to completion. */
+    public void shutdown() {
+        if (state == RUNNING) {
+            state = SHUTDOWN;
+        }
+        LockSupport.unpark(dispatcher);
+    }
+    
+    /** Stops right away, abandoning queued and running tasks. */
+    public void shutdownNow() {
+        state = STOPPED;
+        LockSupport.unpark(dispatcher);
+    }
+    
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+    
+    public boolean isTerminated() {
+        return terminated.getCount() == 0;
+    }
+    
+    /**
+     * Shuts down and waits for the accepted work to finish. If the calling
+     * thread is interrupted meanwhile, the remaining work is abandoned as by
+     * {@link #shutdownNow()}; the dispatcher has stopped either way when this
+     * returns, and the interrupt status is kept.
+     */
+    @Override
+    public void close() {
+        shutdown();
+        if (!dispatcher.isAlive()) {
+            return;
+        }
+        boolean interrupted = false;
+        while (true) {
+            try {
+                terminated.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+                shutdownNow();
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    // ----- Dispatcher thread -----
+    
+    private void dispatchLoop() {
+        try {
+            while (state != STOPPED) {
+                int now = currentTime();
+                drainSubmissions();
+                admitArrivals(now);
+                
+                // Dispatch the greedy choice if CPU is idle
+                if (currentTask == null) {
+                    currentTask = pollReady();
+                    if (currentTask != null) {
+                        if (currentTask.getStartTime() < 0) {
+                            currentTask.setStartTime(now);
+                        }
+                        lastSwitchTime = now;
+                    }
+                }
+                
+                if (currentTask == null) {
+                    if (state != RUNNING && future.isEmpty() && submitted.sum() == received) {
+                        break;
+                    }
+                    idleUntil(future.isEmpty() ? Long.MAX_VALUE : nextArrivalTime());
+                    continue;
+                }
+                
+                // Run until the next decision point, or a submission on the wall clock
+                long nextEventTime = (long) now + currentTask.getRemainingTime();
+                if (preemptive && !future.isEmpty()) {
+                    nextEventTime = Math.min(nextEventTime, nextArrivalTime());
+                }
+                int reached = runUntil(now, nextEventTime);
+                currentTask.execute(reached - now);
+                
+                if (currentTask.isCompleted()) {
+                    publishSlot(currentTask, lastSwitchTime, reached);
+                    currentTask.setCompletionTime(reached);
+                    completed++;
+                    for (ScheduleListener listener : listeners) {
+                        listener.onTaskCompleted(currentTask);
+                    }
+                    currentTask = null;
+                    lastSwitchTime = reached;
+                }
+            }
+        } finally {
+            state = STOPPED;
+            terminated.countDown();
+        }
+    }
+    
+    private void drainSubmissions() {
+        for (ConcurrentLinkedQueue<Task> stripe : stripes) {
+            Task task;
+            while ((task = stripe.poll()) != null) {
+                // Ties on arrival keep submission order, as input order does offline
+                future.offer(task, task.getArrivalTime(), received++);
+            }
+        }
+    }
+    
+    // Moves tasks whose arrival time has come to the ready queue, preempting if they win
+    private void admitArrivals(int now) {
+        while (!future.isEmpty() && nextArrivalTime() <= now) {
+            long sequence = future.peekSequence();
+            Task arriving = future.poll();
+            if (fifo) {
+                fifoQueue.offer(arriving);
+                continue;
+            }
+            int key = policy.getReadyQueueKey(arriving);
+            if (preemptive && currentTask != null) {
+                int currentKey = policy.getReadyQueueKey(currentTask);
+                if (KeyedTaskHeap.precedes(key, sequence, currentKey, currentSequence)) {
+                    // Save current task progress
+                    if (now > lastSwitchTime) {
+                        publishSlot(currentTask, lastSwitchTime, now);
+                    }
+                    readyHeap.offer(currentTask, currentKey, currentSequence);
+                    currentTask = null;
+                    lastSwitchTime = now;
+                }
+            }
+            readyHeap.offer(arriving, key, sequence);
+        }
+    }
+    
+    private Task pollReady() {
+        if (fifo) {
+            return fifoQueue.poll();
+        }
+        if (readyHeap.isEmpty()) {
+            return null;
+        }
+        currentSequence = readyHeap.peekSequence();
+        return readyHeap.poll();
+    }
+    
+    private int nextArrivalTime() {
+        return future.peekKey();
+    }
+    
+    private void publishSlot(Task task, int startTime, int endTime) {
+        TimeSlot slot = new TimeSlot(task, startTime, endTime);
+        for (ScheduleListener listener : listeners) {
+            listener.onTimeSlot(slot);
+        }
+    }
+    
+    /** Waits with nothing to run until {@code time} or the next submission. */
+    private void idleUntil(long time) {
+        if (clockMode == ClockMode.LOGICAL && time != Long.MAX_VALUE) {
+            logicalTime = (int) time; // nothing can happen before then
+            return;
+        }
+        park(time);
+    }
+    
+    /** Runs the current task towards {@code time}; returns the time actually reached. */
+    private int runUntil(int now, long time) {
+        if (clockMode == ClockMode.LOGICAL) {
+            logicalTime = (int) time;
+            return (int) time;
+        }
+        park(time);
+        return (int) Math.min(time, currentTime());
+    }
+    
+    // Sleeps until the clock reaches time, a submission arrives or the state changes
+    private void park(long time) {
+        parked = true;
+        try {
+            if (hasSubmissions() || state == STOPPED || (state == SHUTDOWN && submitted.sum() == received
+                    && currentTask == null && future.isEmpty())) {
+                return;
+            }
+            if (time == Long.MAX_VALUE) {
+                // An in-flight submission unparks us; the timeout only guards a shutdown race
+                LockSupport.parkNanos(this, state == RUNNING ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(1));
+            } else {
+                long waitNanos = (time - currentTime()) * nanosPerUnit;
+                if (waitNanos > 0) {
+                    LockSupport.parkNanos(this, waitNanos);
+                }
+            }
+        } finally {
+            parked = false;
+        }
+    }
+    
+    private boolean hasSubmissions() {
+        for (ConcurrentLinkedQueue<Task> stripe : stripes) {
+            if (!stripe.isEmpty()) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,82 @@
+package scheduler;
+
+import java.util.*;
+
+/**
+ * Multilevel Feedback Queue (MLFQ) - Time-sliced adaptive algorithm
+ * New tasks start at the top level; a task that uses its whole quantum is
+ * demoted, an arrival at a higher level preempts a lower one, and a
+ * periodic boost returns every task to the top level
+ */
+public class MLFQScheduler implements Scheduler {
+    private static final int[] DEFAULT_QUANTA = {4, 8, 16};
+    private static final int DEFAULT_BOOST_PERIOD = 100;
+    
+    private final int[] quanta;
+    private final int boostPeriod;
+    private final String name;
+    
+    public MLFQScheduler() {
+        this(DEFAULT_QUANTA, DEFAULT_BOOST_PERIOD);
+    }
+    
+    /**
+     * @param quanta time quantum of each level, highest priority level first
+     * @param boostPeriod time between priority boosts, or 0 to never boost
+     */
+    public MLFQScheduler(int[] quanta, int boostPeriod) {
+        if (quanta.length < 1 || quanta.length > 64) {
+            throw new IllegalArgumentException("Level count must be between 1 and 64: " + quanta.length);
+        }
+        for (int quantum : quanta) {
+            if (quantum < 1) {
+                throw new IllegalArgumentException("Quanta must be positive: " + Arrays.toString(quanta));
+            }
+        }
+        if (boostPeriod < 0) {
+            throw new IllegalArgumentException("Boost period must not be negative: " + boostPeriod);
+        }
+        this.quanta = quanta.clone();
+        this.boostPeriod = boostPeriod;
+        this.name = "Multilevel Feedback Queue (" + quanta.length + " levels)";
+    }
+    
+    @Override
+    public SchedulingResult schedule(List<Task> tasks) {
+        return schedule(TaskTable.fromTasks(tasks));
+    }
+    
+    @Override
+    public SchedulingResult schedule(TaskTable table) {
+        ReadyQueue readyQueue = new MultiLevelReadyQueue(table, quanta, boostPeriod);
+        return SimulationEngine.simulate(getAlgorithmName(), table, readyQueue, true);
+    }
+    
+    @Override
+    public SchedulingResult schedule(SchedulingWorkspace workspace) {
+        ReadyQueue readyQueue = workspace.multiLevelQueue(quanta, boostPeriod);
+        return SimulationEngine.simulate(getAlgorithmName(), workspace, readyQueue, true);
+    }
+    
+    public int getLevelCount() {
+        return quanta.length;
+    }
+    
+    public int[] getQuanta() {
+        return quanta.clone();
+    }
+    
+    public int getBoostPeriod() {
+        return boostPeriod;
+    }
+    
+    @Override
+    public String getAlgorithmName() {
+        return name;
+    }
+    
+    @Override
+    public String getConfigurationKey() {
+        return getClass().getName() + "(quanta=" + Arrays.toString(quanta) + ", boostPeriod=" + boostPeriod + ")";
+    }
+}
@@ -0,0 +1,401 @@
+package scheduler;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Greedy scheduling on several identical processors
+ * 
+ * Wraps one of the single-CPU greedy policies (SJF, SRTF, EDF, Priority...)
+ * and simulates it on N processors. Ready queues are ordered by the wrapped
+ * policy; how tasks are spread over the processors is chosen with
+ * {@link LoadBalancing}:
+ * - GLOBAL_QUEUE: one shared ready queue, any idle processor takes its head;
+ *   a preemptive policy preempts the processors running the worst tasks
+ *   while the queue's head outranks them
+ * - WORK_STEALING: one queue per processor, arrivals join the least loaded
+ *   one and an idle processor with an empty queue steals from the longest
+ * - PERIODIC_MIGRATION: one queue per processor, no stealing, but every
+ *   migration interval tasks are moved until queue lengths differ by at most one
+ * 
+ * Like the single-CPU engine, the simulation jumps between arrivals,
+ * completions and migration ticks; each arrival costs O(N) to place.
+ */
+public class MultiCoreScheduler implements Scheduler {
+    
+    public enum LoadBalancing {
+        GLOBAL_QUEUE("global queue"),
+        WORK_STEALING("work stealing"),
+        PERIODIC_MIGRATION("periodic migration");
+        
+        private final String label;
+        
+        LoadBalancing(String label) {
+            this.label = label;
+        }
+        
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+    
+    private static final int DEFAULT_MIGRATION_INTERVAL = 100;
+    // Decision points between two checks for cancellation
+    private static final int CANCEL_CHECK_INTERVAL = 1024;
+    
+    private final String baseAlgorithmName;
+    private final String baseConfigurationKey;
+    private final SchedulingPolicy policy;
+    private final int cpuCount;
+    private final LoadBalancing loadBalancing;
+    private final int migrationInterval;
+    
+    public <S extends Scheduler & SchedulingPolicy> MultiCoreScheduler(S base, int cpuCount,
+                                                                       LoadBalancing loadBalancing) {
+        this(base, cpuCount, loadBalancing, DEFAULT_MIGRATION_INTERVAL);
+    }
+    
+    public <S extends Scheduler & SchedulingPolicy> MultiCoreScheduler(S base, int cpuCount,
+                                                                       LoadBalancing loadBalancing,
+                                                                       int migrationInterval) {
+        if (cpuCount < 1) {
+            throw new IllegalArgumentException("CPU count must be at least 1: " + cpuCount);
+        }
+        if (migrationInterval < 1) {
+            throw new IllegalArgumentException("Migration interval must be positive: " + migrationInterval);
+        }
+        this.baseAlgorithmName = base.getAlgorithmName();
+        this.baseConfigurationKey = base.getConfigurationKey();
+        this.policy = base;
+        this.cpuCount = cpuCount;
+        this.loadBalancing = loadBalancing;
+        this.migrationInterval = migrationInterval;
+    }
+    
+    @Override
+    public SchedulingResult schedule(List<Task> tasks) {
+        return schedule(TaskTable.fromTasks(tasks));
+    }
+    
+    @Override
+    public SchedulingResult schedule(TaskTable table) {
+        table.checkTimeRange();
+        table.reset();
+        return new Run(table).execute();
+    }
+    
+    public int getCpuCount() { return cpuCount; }
+    public LoadBalancing getLoadBalancing() { return loadBalancing; }
+    
+    @Override
+    public String getAlgorithmName() {
+        return baseAlgorithmName + " on " + cpuCount + " CPUs (" + loadBalancing + ")";
+    }
+    
+    @Override
+    public String getConfigurationKey() {
+        if (baseConfigurationKey == null) {
+            return null;
+        }
+        return getClass().getName() + "(" + baseConfigurationKey + ", cpus=" + cpuCount
+            + ", " + loadBalancing.name() + ", migrationInterval=" + migrationInterval + ")";
+    }
+    
+    @Override
+    public String toString() {
+        return getAlgorithmName();
+    }
+    
+    /** State of one simulation over a task table. */
+    private final class Run {
+        private final TaskTable table;
+        private final int[] keys; // the policy's key column
+        private final SchedulingResult result;
+        private final boolean preemptive = policy.isPreemptive();
+        private final boolean sharedQueue = loadBalancing == LoadBalancing.GLOBAL_QUEUE;
+        
+        // Per-processor state
+        private final int[] running = new int[cpuCount];     // row or -1
+        private final int[] sliceStart = new int[cpuCount];
+        private final int[] lastUpdate = new int[cpuCount];  // remaining time settled up to here
+        private final int[] endTime = new int[cpuCount];     // completion of the running row
+        private final boolean[] idle = new boolean[cpuCount];
+        private final TaskHeap[] queues;
+        
+        // Completion events packed as (end time, cpu); entries go stale on preemption
+        private final TaskHeap events = new TaskHeap(cpuCount);
+        
+        private int now;
+        private int nextRow;
+        private int queued;
+        private int busyCount;
+        private int nextMigration = migrationInterval;
+        
+        // Instrumentation, published only if enabled
+        private final int[] lastRan = new int[cpuCount];
+        private long preemptions;
+        private long contextSwitches;
+        private long offers;
+        private long polls;
+        private int peakQueued;
+        private long idleGaps;
+        private long idleTime;
+        
+        Run(TaskTable table) {
+            this.table = table;
+            this.keys = policy.getReadyQueueKeys(table);
+            this.result = new SchedulingResult(getAlgorithmName(), table, cpuCount);
+            this.queues = new TaskHeap[sharedQueue ? 1 : cpuCount];
+            for (int q = 0; q < queues.length; q++) {
+                queues[q] = new TaskHeap(64);
+            }
+            for (int cpu = 0; cpu < cpuCount; cpu++) {
+                running[cpu] = -1;
+                idle[cpu] = true;
+                lastRan[cpu] = -1;
+            }
+        }
+        
+        SchedulingResult execute() {
+            long startNanos = System.nanoTime();
+            int n = table.size();
+            int decisions = 0;
+            
+            while (nextRow < n || queued > 0 || busyCount > 0) {
+                if (++decisions % CANCEL_CHECK_INTERVAL == 0 && Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException(getAlgorithmName() + " interrupted");
+                }
+                
+                // Jump to the next decision point
+                long next = nextRow < n ? table.arrivalTimes[nextRow] : Long.MAX_VALUE;
+                discardStaleEvents();
+                if (!events.isEmpty()) {
+                    next = Math.min(next, events.peek() >> 32);
+                }
+                if (loadBalancing == LoadBalancing.PERIODIC_MIGRATION && queued > 0) {
+                    next = Math.min(next, nextMigration);
+                }
+                if (busyCount == 0 && queued == 0 && next > now) {
+                    idleGaps++;
+                    idleTime += next - now;
+                }
+                now = (int) Math.max(now, next);
+                
+                // Completions
+                while (!events.isEmpty() && (events.peek() >> 32) == now) {
+                    int cpu = events.pollRow();
+                    if (running[cpu] >= 0 && endTime[cpu] == now) {
+                        complete(cpu);
+                    }
+                }
+                
+                if (loadBalancing == LoadBalancing.PERIODIC_MIGRATION && now >= nextMigration) {
+                    rebalance();
+                    nextMigration = (int) Math.min(((long) now / migrationInterval + 1) * migrationInterval,
+                        Integer.MAX_VALUE);
+                }
+                
+                // Arrivals
+                boolean arrived = false;
+                while (nextRow < n && table.arrivalTimes[nextRow] <= now) {
+                    admit(nextRow++);
+                    arrived = true;
+                }
+                
+                dispatchIdle();
+                if (arrived && sharedQueue && preemptive) {
+                    preemptOutranked();
+                }
+            }
+            
+            if (SchedulerMetrics.isEnabled()) {
+                SchedulerMetrics.record(getAlgorithmName(), result, decisions, preemptions, contextSwitches,
+                    offers, polls, peakQueued, idleGaps, idleTime, startNanos);
+            }
+            return result;
+        }
+        
+        private void discardStaleEvents() {
+            while (!events.isEmpty()) {
+                long event = events.peek();
+                int cpu = TaskHeap.rowOf(event);
+                if (running[cpu] >= 0 && endTime[cpu] == (int) (event >> 32)) {
+                    return;
+                }
+                events.pollRow();
+            }
+        }
+        
+        private long keyOf(int row) {
+            return TaskHeap.packKey(keys[row], row);
+        }
+        
+        private TaskHeap queueOf(int cpu) {
+            return sharedQueue ? queues[0] : queues[cpu];
+        }
+        
+        // Per-processor queues preempt on arrival; the global queue once the whole batch is in
+        private void admit(int row) {
+            long key = keyOf(row);
+            int target = sharedQueue ? -1 : leastLoadedCpu();
+            if (preemptive && target >= 0 && running[target] >= 0) {
+                settle(target);
+                if (key < keyOf(running[target])) {
+                    preempt(target);
+                }
+            }
+            queueOf(Math.max(target, 0)).offer(key);
+            queued++;
+            offers++;
+            peakQueued = Math.max(peakQueued, queued);
+        }
+        
+        /**
+         * Moves the global queue's head onto the processor running the worst
+         * task for as long as the head outranks it, so that after a batch of
+         * simultaneous arrivals the N best ready tasks run.
+         */
+        private void preemptOutranked() {
+            TaskHeap queue = queues[0];
+            while (!queue.isEmpty() && busyCount == cpuCount) {
+                int cpu = worstRunningCpu();
+                if (queue.peek() >= keyOf(running[cpu])) {
+                    return;
+                }
+                preempt(cpu);
+                queued--;
+                polls++;
+                dispatch(cpu, queue.pollRow());
+            }
+        }
+        
+        // Processor whose running task the policy ranks last
+        private int worstRunningCpu() {
+            int worst = -1;
+            long worstKey = Long.MIN_VALUE;
+            for (int cpu = 0; cpu < cpuCount; cpu++) {
+                if (running[cpu] >= 0) {
+                    settle(cpu);
+                    long key = keyOf(running[cpu]);
+                    if (key > worstKey) {
+                        worstKey = key;
+                        worst = cpu;
+                    }
+                }
+            }
+            return worst;
+        }
+        
+        private int leastLoadedCpu() {
+            int best = 0;
+            int bestLoad = Integer.MAX_VALUE;
+            for (int cpu = 0; cpu < cpuCount; cpu++) {
+                int load = queues[cpu].size() + (running[cpu] >= 0 ? 1 : 0);
+                if (load < bestLoad) {
+                    bestLoad = load;
+                    best = cpu;
+                }
+            }
+            return best;
+        }
+        
+        private void dispatchIdle() {
+            for (int cpu = 0; cpu < cpuCount && queued > 0 && busyCount < cpuCount; cpu++) {
+                if (!idle[cpu]) {
+                    continue;
+                }
+                TaskHeap source = queueOf(cpu);
+                if (source.isEmpty() && loadBalancing == LoadBalancing.WORK_STEALING) {
+                    source = longestQueue();
+                }
+                if (!source.isEmpty()) {
+                    queued--;
+                    polls++;
+                    dispatch(cpu, source.pollRow());
+                }
+            }
+        }
+        
+        private TaskHeap longestQueue() {
+            TaskHeap longest = queues[0];
+            for (TaskHeap queue : queues) {
+                if (queue.size() > longest.size()) {
+                    longest = queue;
+                }
+            }
+            return longest;
+        }
+        
+        private void rebalance() {
+            while (true) {
+                TaskHeap longest = queues[0];
+                TaskHeap shortest = queues[0];
+                for (TaskHeap queue : queues) {
+                    if (queue.size() > longest.size()) longest = queue;
+                    if (queue.size() < shortest.size()) shortest = queue;
+                }
+                if (longest.size() - shortest.size() <= 1) {
+                    return;
+                }
+                shortest.offer(keyOf(longest.pollRow()));
+                polls++;
+                offers++;
+            }
+        }
+        
+        private void dispatch(int cpu, int row) {
+            if (table.startTimes[row] < 0) {
+                table.startTimes[row] = now;
+            }
+            if (row != lastRan[cpu]) {
+                contextSwitches++;
+                lastRan[cpu] = row;
+            }
+            running[cpu] = row;
+            sliceStart[cpu] = now;
+            lastUpdate[cpu] = now;
+            endTime[cpu] = now + table.remainingTimes[row]; // in range, see TaskTable.checkTimeRange()
+            events.offer(TaskHeap.packKey(endTime[cpu], cpu));
+            idle[cpu] = false;
+            busyCount++;
+        }
+        
+        // Brings the running task's remaining time up to the current time
+        private void settle(int cpu) {
+            int row = running[cpu];
+            table.remainingTimes[row] -= now - lastUpdate[cpu];
+            lastUpdate[cpu] = now;
+        }
+        
+        private void preempt(int cpu) {
+            int row = running[cpu];
+            if (now > sliceStart[cpu]) {
+                result.addTimeSlot(row, sliceStart[cpu], now, cpu);
+            }
+            queueOf(cpu).offer(keyOf(row));
+            queued++;
+            offers++;
+            preemptions++;
+            peakQueued = Math.max(peakQueued, queued);
+            release(cpu);
+        }
+        
+        private void complete(int cpu) {
+            int row = running[cpu];
+            result.addTimeSlot(row, sliceStart[cpu], now, cpu);
+            table.remainingTimes[row] = 0;
+            table.completionTimes[row] = now;
+            result.recordCompletion(table.arrivalTimes[row], table.burstTimes[row],
+                table.startTimes[row], now, table.deadlines[row]);
+            release(cpu);
+        }
+        
+        private void release(int cpu) {
+            running[cpu] = -1;
+            endTime[cpu] = -1;
+            idle[cpu] = true;
+            busyCount--;
+        }
+    }
+}
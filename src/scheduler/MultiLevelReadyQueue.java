@@ -0,0 +1,139 @@
+package scheduler;
+
+import java.util.Arrays;
+
+/**
+ * Multilevel feedback ready queue of {@link TaskTable} rows
+ * 
+ * Level 0 is the highest priority. Every level is a FIFO ring with its own
+ * time slice; new arrivals enter level 0, a task that uses up its whole
+ * slice is demoted one level (the last level is plain Round Robin), and a
+ * periodic boost moves every task back to level 0 so long jobs cannot
+ * starve. An occupancy bitmap finds the highest non-empty level in O(1).
+ */
+public final class MultiLevelReadyQueue implements ReadyQueue {
+    private final TaskRingQueue[] levels;
+    private final int[] timeSlices;
+    private int boostPeriod;
+    private final byte[] levelOf;
+    private long occupied; // bit i set while level i is non-empty
+    private int size;
+    
+    public MultiLevelReadyQueue(TaskTable table, int[] timeSlices, int boostPeriod) {
+        if (timeSlices.length < 1 || timeSlices.length > 64) {
+            throw new IllegalArgumentException("Level count must be between 1 and 64: " + timeSlices.length);
+        }
+        this.timeSlices = timeSlices.clone();
+        this.boostPeriod = boostPeriod;
+        this.levels = new TaskRingQueue[timeSlices.length];
+        for (int level = 0; level < levels.length; level++) {
+            levels[level] = new TaskRingQueue(64);
+        }
+        this.levelOf = new byte[table.size()];
+    }
+    
+    /**
+     * Empties the queue and sets new level parameters for another run over
+     * the same table; the level count must not change.
+     */
+    void reset(int[] timeSlices, int boostPeriod) {
+        if (timeSlices.length != levels.length) {
+            throw new IllegalArgumentException("Level count changed: " + levels.length + " to " + timeSlices.length);
+        }
+        System.arraycopy(timeSlices, 0, this.timeSlices, 0, levels.length);
+        this.boostPeriod = boostPeriod;
+        for (TaskRingQueue level : levels) {
+            level.clear();
+        }
+        Arrays.fill(levelOf, (byte) 0);
+        occupied = 0;
+        size = 0;
+    }
+    
+    int getLevelCount() {
+        return levels.length;
+    }
+    
+    @Override
+    public void offer(int row) {
+        int level = levelOf[row];
+        levels[level].offer(row);
+        occupied |= 1L << level;
+        size++;
+    }
+    
+    @Override
+    public int poll() {
+        int level = Long.numberOfTrailingZeros(occupied);
+        TaskRingQueue queue = levels[level];
+        int row = queue.poll();
+        if (queue.isEmpty()) {
+            occupied &= ~(1L << level);
+        }
+        size--;
+        return row;
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    @Override
+    public int size() {
+        return size;
+    }
+    
+    @Override
+    public boolean preempts(int arrivingRow, int runningRow) {
+        return levelOf[arrivingRow] < levelOf[runningRow];
+    }
+    
+    @Override
+    public int getTimeSlice(int row) {
+        return timeSlices[levelOf[row]];
+    }
+    
+    @Override
+    public void onTimeSliceExpired(int row) {
+        if (levelOf[row] < levels.length - 1) {
+            levelOf[row]++;
+        }
+    }
+    
+    @Override
+    public int getBoostPeriod() {
+        return boostPeriod;
+    }
+    
+    @Override
+    public void boost(int runningRow) {
+        if (runningRow >= 0) {
+            levelOf[runningRow] = 0;
+        }
+        TaskRingQueue top = levels[0];
+        for (int level = 1; level < levels.length; level++) {
+            TaskRingQueue queue = levels[level];
+            while (!queue.isEmpty()) {
+                int row = queue.poll();
+                levelOf[row] = 0;
+                top.offer(row);
+            }
+        }
+        occupied = size > 0 ? 1L : 0L;
+    }
+    
+    @Override
+    public int getRowState(int row) {
+        return levelOf[row];
+    }
+    
+    @Override
+    public void setRowState(int row, int state) {
+        levelOf[row] = (byte) state;
+    }
+    
+    public int getLevel(int row) {
+        return levelOf[row];
+    }
+}
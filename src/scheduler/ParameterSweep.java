@@ -0,0 +1,258 @@
+package scheduler;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs many scheduler configurations over one workload on a fork-join pool
+ *
+ * Configurations are added one at a time, from a list or grid of parameter
+ * values, and can be thinned out to a seeded random sample. Every worker
+ * reads the same input columns of a single {@link TaskTable}; a worker thread
+ * only owns run state, in a {@link SchedulingWorkspace} that it reuses for
+ * each run it picks up. A finished run is reduced to a {@link Row} of metrics
+ * right away and inserted into a table kept sorted by the chosen
+ * {@link Metric}, so full schedules never pile up.
+ */
+public final class ParameterSweep {
+    
+    /** Metrics of a {@link SchedulingResult} that a sweep can rank by. */
+    public enum Metric {
+        AVERAGE_WAITING_TIME(false),
+        AVERAGE_TURNAROUND_TIME(false),
+        AVERAGE_RESPONSE_TIME(false),
+        P99_WAITING_TIME(false),
+        P99_TURNAROUND_TIME(false),
+        P99_RESPONSE_TIME(false),
+        MISSED_DEADLINES(false),
+        TOTAL_COMPLETION_TIME(false),
+        CPU_UTILIZATION(true);
+        
+        private final boolean higherIsBetter;
+        
+        Metric(boolean higherIsBetter) {
+            this.higherIsBetter = higherIsBetter;
+        }
+        
+        public boolean isHigherBetter() {
+            return higherIsBetter;
+        }
+        
+        public double of(SchedulingResult result) {
+            switch (this) {
+                case AVERAGE_WAITING_TIME: return result.getAverageWaitingTime();
+                case AVERAGE_TURNAROUND_TIME: return result.getAverageTurnaroundTime();
+                case AVERAGE_RESPONSE_TIME: return result.getAverageResponseTime();
+                case P99_WAITING_TIME: return result.getWaitingTimeDistribution().getP99();
+                case P99_TURNAROUND_TIME: return result.getTurnaroundTimeDistribution().getP99();
+                case P99_RESPONSE_TIME: return result.getResponseTimeDistribution().getP99();
+                case MISSED_DEADLINES: return result.getMissedDeadlines();
+                case TOTAL_COMPLETION_TIME: return result.getTotalCompletionTime();
+                case CPU_UTILIZATION: return result.getCpuUtilization();
+                default: throw new AssertionError(this);
+            }
+        }
+    }
+    
+    /** Metrics of one configuration's run; the result itself is not kept. */
+    public static final class Row {
+        private static final Metric[] METRICS = Metric.values();
+        
+        private final int index;
+        private final String label;
+        private final String algorithmName;
+        private final double[] values = new double[METRICS.length];
+        private final long elapsedNanos;
+        
+        Row(int index, String label, SchedulingResult result, long elapsedNanos) {
+            this.index = index;
+            this.label = label;
+            this.algorithmName = result.getAlgorithmName();
+            for (Metric metric : METRICS) {
+                values[metric.ordinal()] = metric.of(result);
+            }
+            this.elapsedNanos = elapsedNanos;
+        }
+        
+        /** Position of the configuration in the sweep. */
+        public int getIndex() { return index; }
+        public String getLabel() { return label; }
+        public String getAlgorithmName() { return algorithmName; }
+        public double get(Metric metric) { return values[metric.ordinal()]; }
+        public long getElapsedNanos() { return elapsedNanos; }
+        
+        @Override
+        public String toString() {
+            return String.format("%-45s W=%.2f T=%.2f R=%.2f p99W=%.0f missed=%.0f util=%.2f%%", label,
+                get(Metric.AVERAGE_WAITING_TIME), get(Metric.AVERAGE_TURNAROUND_TIME),
+                get(Metric.AVERAGE_RESPONSE_TIME), get(Metric.P99_WAITING_TIME),
+                get(Metric.MISSED_DEADLINES), get(Metric.CPU_UTILIZATION));
+        }
+    }
+    
+    private final TaskTable inputs;
+    private final List<String> labels = new ArrayList<>();
+    private final List<Scheduler> schedulers = new ArrayList<>();
+    private ForkJoinPool pool; // null = common ForkJoinPool
+    
+    public ParameterSweep(List<Task> tasks) {
+        this(TaskTable.fromTasks(tasks));
+    }
+    
+    /** Sweep over {@code tasks}; only its input columns are read, never its run state. */
+    public ParameterSweep(TaskTable tasks) {
+        this.inputs = tasks;
+    }
+    
+    public ParameterSweep add(Scheduler scheduler) {
+        return add(scheduler.getAlgorithmName(), scheduler);
+    }
+    
+    public ParameterSweep add(String label, Scheduler scheduler) {
+        labels.add(label);
+        schedulers.add(scheduler);
+        return this;
+    }
+    
+    /** Adds one configuration per parameter value, e.g. a range of quanta. */
+    public <P> ParameterSweep addAll(Iterable<P> values, Function<? super P, ? extends Scheduler> factory) {
+        for (P value : values) {
+            add(factory.apply(value));
+        }
+        return this;
+    }
+    
+    /**
+     * Cartesian product of the given axes, one {@code int[]} per point with
+     * one entry per axis, for {@link #addAll}. For example
+     * {@code grid(new int[]{0, 1}, quanta)} pairs preemption off/on with
+     * every quantum.
+     */
+    public static List<int[]> grid(int[]... axes) {
+        List<int[]> points = new ArrayList<>();
+        int[] point = new int[axes.length];
+        for (int[] axis : axes) {
+            if (axis.length == 0) return points;
+        }
+        int[] position = new int[axes.length];
+        while (true) {
+            for (int axis = 0; axis < axes.length; axis++) {
+                point[axis] = axes[axis][position[axis]];
+            }
+            points.add(point.clone());
+            int axis = axes.length - 1;
+            while (axis >= 0 && ++position[axis] == axes[axis].length) {
+                position[axis] = 0;
+                axis--;
+            }
+            if (axis < 0) return points;
+        }
+    }
+    
+    /**
+     * Keeps a seeded random sample of {@code count} of the configurations
+     * added so far, in their original order.
+     */
+    public ParameterSweep sample(int count, long seed) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Sample size must not be negative: " + count);
+        }
+        int n = schedulers.size();
+        if (count >= n) return this;
+        // Selection sampling: each configuration is kept with probability needed / remaining
+        SplittableRandom random = new SplittableRandom(seed);
+        List<String> keptLabels = new ArrayList<>(count);
+        List<Scheduler> keptSchedulers = new ArrayList<>(count);
+        for (int i = 0; i < n && keptLabels.size() < count; i++) {
+            if (random.nextInt(n - i) < count - keptLabels.size()) {
+                keptLabels.add(labels.get(i));
+                keptSchedulers.add(schedulers.get(i));
+            }
+        }
+        labels.clear();
+        labels.addAll(keptLabels);
+        schedulers.clear();
+        schedulers.addAll(keptSchedulers);
+        return this;
+    }
+    
+    public int size() {
+        return schedulers.size();
+    }
+    
+    /** Sets the pool the runs fan out over; null falls back to the common ForkJoinPool. */
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+    
+    public List<Row> run(Metric sortBy) {
+        return run(sortBy, row -> { });
+    }
+    
+    /**
+     * Runs every configuration and returns the rows sorted by {@code sortBy},
+     * best first, ties in configuration order. Each row is also handed to
+     * {@code onRow} as soon as its run ends; the callback is invoked from
+     * the worker threads, possibly concurrently.
+     */
+    public List<Row> run(Metric sortBy, Consumer<? super Row> onRow) {
+        Comparator<Row> byMetric = Comparator.comparingDouble(row -> row.get(sortBy));
+        if (sortBy.isHigherBetter()) {
+            byMetric = byMetric.reversed();
+        }
+        ConcurrentSkipListSet<Row> table = new ConcurrentSkipListSet<>(byMetric.thenComparingInt(Row::getIndex));
+        // One workspace per worker thread, dropped with the sweep
+        ThreadLocal<SchedulingWorkspace> workspaces =
+            ThreadLocal.withInitial(() -> new SchedulingWorkspace(inputs.withSharedInputs()));
+        List<Scheduler> snapshot = new ArrayList<>(schedulers);
+        List<String> snapshotLabels = new ArrayList<>(labels);
+        
+        ForkJoinPool target = pool != null ? pool : ForkJoinPool.commonPool();
+        target.invoke(new SweepTask(0, snapshot.size(), snapshot, snapshotLabels, workspaces, row -> {
+            table.add(row);
+            onRow.accept(row);
+        }));
+        return new ArrayList<>(table);
+    }
+    
+    /** Splits the configuration range in halves down to single runs. */
+    private final class SweepTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        
+        private final int from;
+        private final int to;
+        private final List<Scheduler> schedulers;
+        private final List<String> labels;
+        private final ThreadLocal<SchedulingWorkspace> workspaces;
+        private final Consumer<Row> sink;
+        
+        SweepTask(int from, int to, List<Scheduler> schedulers, List<String> labels,
+                  ThreadLocal<SchedulingWorkspace> workspaces, Consumer<Row> sink) {
+            this.from = from;
+            this.to = to;
+            this.schedulers = schedulers;
+            this.labels = labels;
+            this.workspaces = workspaces;
+            this.sink = sink;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new SweepTask(from, mid, schedulers, labels, workspaces, sink),
+                    new SweepTask(mid, to, schedulers, labels, workspaces, sink));
+                return;
+            }
+            if (from == to) return;
+            SchedulingWorkspace workspace = workspaces.get();
+            long startNanos = System.nanoTime();
+            SchedulingResult result = schedulers.get(from).schedule(workspace);
+            sink.accept(new Row(from, labels.get(from), result, System.nanoTime() - startNanos));
+        }
+    }
+}
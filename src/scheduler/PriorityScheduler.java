@@ -5,8 +5,12 @@ import java.util.*;
 /**
  * Priority Scheduling - Greedy algorithm
  * Always selects the task with highest priority (lower number = higher priority)
+ * 
+ * Columnar runs keep the ready queue in a {@link BucketReadyQueue} when the
+ * priorities span at most {@link BucketReadyQueue#MAX_KEYS} values, such as
+ * 0-139, and in a heap otherwise.
  */
-public class PriorityScheduler implements Scheduler {
+public class PriorityScheduler implements StreamingScheduler, SchedulingPolicy {
     private boolean preemptive;
     
     public PriorityScheduler(boolean preemptive) {
@@ -15,97 +19,83 @@ public class PriorityScheduler implements Scheduler {
     
     @Override
     public SchedulingResult schedule(List<Task> tasks) {
-        SchedulingResult result = new SchedulingResult(getAlgorithmName());
-        List<Task> taskList = new ArrayList<>();
-        for (Task t : tasks) {
-            taskList.add(new Task(t)); // Create copies
+        return SimulationEngine.simulate(getAlgorithmName(), tasks, this);
+    }
+    
+    @Override
+    public SchedulingResult schedule(TaskTable table) {
+        return SimulationEngine.simulate(getAlgorithmName(), table, this);
+    }
+    
+    @Override
+    public SchedulingResult schedule(SchedulingWorkspace workspace) {
+        return SimulationEngine.simulate(getAlgorithmName(), workspace, this);
+    }
+    
+    @Override
+    public void schedule(Iterator<Task> arrivals, ScheduleListener listener) {
+        SimulationEngine.simulate(arrivals, this, listener);
+    }
+    
+    @Override
+    public int getReadyQueueKey(Task task) {
+        return task.getPriority();
+    }
+    
+    @Override
+    public int[] getReadyQueueKeys(TaskTable table) {
+        return table.priorities;
+    }
+    
+    @Override
+    public ReadyQueue createReadyQueue(TaskTable table) {
+        long range = priorityRange(table);
+        int min = (int) (range >> 32);
+        int max = (int) range;
+        if (BucketReadyQueue.fits(min, max)) {
+            return new BucketReadyQueue(this, table, min, max);
         }
-        result.setTasks(taskList);
-        
-        // Sort by arrival time
-        taskList.sort(Comparator.comparingInt(Task::getArrivalTime));
-        
-        PriorityQueue<Task> readyQueue = new PriorityQueue<>(
-            Comparator.comparingInt(Task::getPriority)
-                .thenComparingInt(Task::getArrivalTime)
-        );
-        
-        int currentTime = 0;
-        int taskIndex = 0;
-        Task currentTask = null;
-        int lastSwitchTime = 0;
-        
-        while (taskIndex < taskList.size() || !readyQueue.isEmpty() || currentTask != null) {
-            // Add all tasks that have arrived
-            while (taskIndex < taskList.size() && 
-                   taskList.get(taskIndex).getArrivalTime() <= currentTime) {
-                Task arriving = taskList.get(taskIndex);
-                readyQueue.offer(arriving);
-                taskIndex++;
-                
-                // Preempt if new task has higher priority (if preemptive)
-                if (preemptive && currentTask != null && 
-                    arriving.getPriority() < currentTask.getPriority()) {
-                    // Save current task progress
-                    if (currentTime > lastSwitchTime) {
-                        result.addTimeSlot(new TimeSlot(currentTask, lastSwitchTime, currentTime));
-                        currentTask.execute(currentTime - lastSwitchTime);
-                    }
-                    readyQueue.offer(currentTask);
-                    currentTask = readyQueue.poll();
-                    lastSwitchTime = currentTime;
-                }
-            }
-            
-            // Start new task if CPU is idle
-            if (currentTask == null && !readyQueue.isEmpty()) {
-                currentTask = readyQueue.poll();
-                if (currentTask.getStartTime() < 0) {
-                    currentTask.setStartTime(currentTime);
-                }
-                lastSwitchTime = currentTime;
-            }
-            
-            if (currentTask == null) {
-                // No tasks ready, advance time
-                if (taskIndex < taskList.size()) {
-                    currentTime = taskList.get(taskIndex).getArrivalTime();
-                } else {
-                    break;
-                }
-                continue;
-            }
-            
-            if (preemptive) {
-                // Execute for 1 time unit (preemptive)
-                currentTime++;
-                currentTask.execute(1);
-                
-                // Check if task completed
-                if (currentTask.isCompleted()) {
-                    result.addTimeSlot(new TimeSlot(currentTask, lastSwitchTime, currentTime));
-                    currentTask.setCompletionTime(currentTime);
-                    currentTask = null;
-                    lastSwitchTime = currentTime;
-                }
-            } else {
-                // Execute until completion (non-preemptive)
-                int executionTime = currentTask.getRemainingTime();
-                result.addTimeSlot(new TimeSlot(currentTask, currentTime, currentTime + executionTime));
-                currentTime += executionTime;
-                currentTask.setCompletionTime(currentTime);
-                currentTask = null;
-                lastSwitchTime = currentTime;
+        return new HeapReadyQueue(this, table);
+    }
+    
+    @Override
+    public ReadyQueue createReadyQueue(SchedulingWorkspace workspace) {
+        long range = priorityRange(workspace.getTaskTable());
+        int min = (int) (range >> 32);
+        int max = (int) range;
+        if (BucketReadyQueue.fits(min, max)) {
+            return workspace.bucketQueue(this, min, max);
+        }
+        return workspace.heapQueue(this);
+    }
+    
+    // Smallest priority in the high half, largest in the low half; 0..0 if empty
+    private static long priorityRange(TaskTable table) {
+        int min = 0;
+        int max = 0;
+        if (table.size() > 0) {
+            min = max = table.priorities[0];
+            for (int row = 1; row < table.size(); row++) {
+                int priority = table.priorities[row];
+                if (priority < min) min = priority;
+                if (priority > max) max = priority;
             }
         }
-        
-        result.calculateStatistics();
-        return result;
+        return TaskHeap.packKey(min, max);
+    }
+    
+    @Override
+    public boolean isPreemptive() {
+        return preemptive;
     }
     
     @Override
     public String getAlgorithmName() {
         return preemptive ? "Priority Scheduling (Preemptive)" : "Priority Scheduling (Non-Preemptive)";
     }
+    
+    @Override
+    public String getConfigurationKey() {
+        return getClass().getName() + "(preemptive=" + preemptive + ")";
+    }
 }
-
@@ -0,0 +1,117 @@
+package scheduler;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-memory quantile sketch for non-negative integer durations
+ * 
+ * Values are counted in log-linear buckets: exact below 128, and above that
+ * 64 buckets per power of two, so any reported quantile is within about
+ * 1.6% of the true value. Memory is a constant 13 KB regardless of how many
+ * values are recorded; the minimum and maximum are tracked exactly.
+ */
+public final class QuantileSketch {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;   // 64
+    private static final int LINEAR_LIMIT = SUB_BUCKETS << 1;      // 128, exact below this
+    private static final int MAX_SHIFT = 31 - 1 - SUB_BUCKET_BITS; // largest shift for an int value
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + MAX_SHIFT * SUB_BUCKETS;
+    
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long count;
+    private int min = Integer.MAX_VALUE;
+    private int max;
+    private boolean frozen;
+    
+    /** Records one value; negative values are counted as zero. */
+    public void record(int value) {
+        checkNotFrozen();
+        if (value < 0) {
+            value = 0;
+        }
+        counts[bucketOf(value)]++;
+        count++;
+        if (value < min) min = value;
+        if (value > max) max = value;
+    }
+    
+    public long getCount() { return count; }
+    public int getMin() { return count == 0 ? 0 : min; }
+    public int getMax() { return max; }
+    
+    /**
+     * Returns an estimate of the q-quantile (0 &lt;= q &lt;= 1), or 0 if nothing was recorded.
+     */
+    public int quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be in [0, 1]: " + q);
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * count));
+        if (rank >= count) {
+            return max;
+        }
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return Math.max(min, Math.min(max, midpointOf(bucket)));
+            }
+        }
+        return max;
+    }
+    
+    public int getP50() { return quantile(0.50); }
+    public int getP95() { return quantile(0.95); }
+    public int getP99() { return quantile(0.99); }
+    
+    public void reset() {
+        checkNotFrozen();
+        Arrays.fill(counts, 0);
+        count = 0;
+        min = Integer.MAX_VALUE;
+        max = 0;
+    }
+    
+    /** Copy of this sketch that can be recorded into again. */
+    QuantileSketch copy() {
+        QuantileSketch copy = new QuantileSketch();
+        System.arraycopy(counts, 0, copy.counts, 0, BUCKET_COUNT);
+        copy.count = count;
+        copy.min = min;
+        copy.max = max;
+        return copy;
+    }
+    
+    /** Makes the sketch read-only; see {@link SchedulingResult#freeze()}. */
+    void freeze() {
+        frozen = true;
+    }
+    
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new UnsupportedOperationException("Sketch is read-only");
+        }
+    }
+    
+    private static int bucketOf(int value) {
+        if (value < LINEAR_LIMIT) {
+            return value;
+        }
+        int shift = (31 - Integer.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        int mantissa = value >>> shift; // in [64, 128)
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + (mantissa - SUB_BUCKETS);
+    }
+    
+    private static int midpointOf(int bucket) {
+        if (bucket < LINEAR_LIMIT) {
+            return bucket;
+        }
+        int shift = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+        long mantissa = SUB_BUCKETS + (bucket - LINEAR_LIMIT) % SUB_BUCKETS;
+        long low = mantissa << shift;
+        return (int) Math.min(Integer.MAX_VALUE, low + (1L << shift) / 2);
+    }
+}
@@ -0,0 +1,34 @@
+package scheduler;
+
+/**
+ * Copy of a {@link Task}, including its run state, whose mutators throw
+ * {@link UnsupportedOperationException}. A frozen {@link SchedulingResult}
+ * hands these out, from {@link SchedulingResult#getTasks()} and its
+ * schedule, so a caller cannot change a result shared through a cache.
+ */
+final class ReadOnlyTask extends Task {
+    ReadOnlyTask(Task task) {
+        super(task);
+        super.setRemainingTime(task.getRemainingTime());
+        super.setStartTime(task.getStartTime());
+        if (task.getCompletionTime() >= 0) {
+            super.setCompletionTime(task.getCompletionTime());
+        }
+    }
+    
+    @Override
+    public void setRemainingTime(int remainingTime) { throw readOnly(); }
+    
+    @Override
+    public void setStartTime(int startTime) { throw readOnly(); }
+    
+    @Override
+    public void setCompletionTime(int completionTime) { throw readOnly(); }
+    
+    @Override
+    public void execute(int timeUnits) { throw readOnly(); }
+    
+    private UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Task " + getName() + " is read-only");
+    }
+}
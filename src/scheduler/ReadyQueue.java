@@ -0,0 +1,68 @@
+package scheduler;
+
+/**
+ * Ready queue of {@link TaskTable} rows driven by the {@link SimulationEngine}
+ * 
+ * One instance belongs to one run, so it may keep per-run state such as the
+ * feedback level of each task. Besides ordering, it decides whether an
+ * arrival preempts the running task and how long a task may hold the CPU
+ * before it is sent back to the queue.
+ */
+public interface ReadyQueue {
+    void offer(int row);
+    
+    /**
+     * Offers rows {@code fromRow} to {@code toRow - 1}, all arriving at the
+     * same instant, and returns the one that runs first among them, the one
+     * to test with {@link #preempts(int, int)}. Queues that can take a batch
+     * faster than row by row override this.
+     */
+    default int offerAll(int fromRow, int toRow) {
+        int best = fromRow;
+        offer(fromRow);
+        for (int row = fromRow + 1; row < toRow; row++) {
+            offer(row);
+            if (preempts(row, best)) {
+                best = row;
+            }
+        }
+        return best;
+    }
+    
+    /** Removes and returns the next row to run; the queue must not be empty. */
+    int poll();
+    
+    boolean isEmpty();
+    
+    int size();
+    
+    /** Whether the arriving row should take the CPU from the running one (preemptive runs only). */
+    boolean preempts(int arrivingRow, int runningRow);
+    
+    /** Longest time the row may run before being requeued; MAX_VALUE runs it to completion. */
+    default int getTimeSlice(int row) {
+        return Integer.MAX_VALUE;
+    }
+    
+    /** Called when a row used up its whole time slice, before it is offered again. */
+    default void onTimeSliceExpired(int row) {
+    }
+    
+    /** Period of {@link #boost(int)} in time units, or 0 for none. */
+    default int getBoostPeriod() {
+        return 0;
+    }
+    
+    /** Periodic reset of feedback state; {@code runningRow} is the row on the CPU or -1. */
+    default void boost(int runningRow) {
+    }
+    
+    /** Per-row feedback state to keep in a {@link SimulationCheckpoint}, e.g. an MLFQ level; 0 if none. */
+    default int getRowState(int row) {
+        return 0;
+    }
+    
+    /** Restores a value of {@link #getRowState(int)} before the row is offered again. */
+    default void setRowState(int row, int state) {
+    }
+}
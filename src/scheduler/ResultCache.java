@@ -0,0 +1,202 @@
+package scheduler;
+
+import java.util.*;
+
+/**
+ * Bounded cache of scheduling results, used by {@link SchedulerManager}
+ *
+ * Results are keyed by a 64-bit fingerprint of the task list plus the
+ * scheduler's {@link Scheduler#getConfigurationKey()}. A hit also compares
+ * the tasks themselves, so a fingerprint collision can only cost a rerun,
+ * never return a wrong schedule. Stored results are frozen first (see
+ * {@link SchedulingResult#isReadOnly()}) and shared by every caller.
+ *
+ * The size of a result is its number of schedule slots, which is what
+ * dominates its memory. The cache keeps at most {@link #getCapacity()} slots
+ * in total and drops the least recently used results to stay under it; a
+ * result larger than the whole capacity is not cached. Thread-safe.
+ */
+public final class ResultCache {
+    /** Default capacity in slots, some tens of MB of schedules. */
+    public static final long DEFAULT_CAPACITY = 1L << 22;
+    
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long capacity;
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+    
+    ResultCache(long capacity) {
+        setCapacity(capacity);
+    }
+    
+    public synchronized long getCapacity() {
+        return capacity;
+    }
+    
+    /** Sets the most slots kept over all results, evicting as needed; 0 disables the cache. */
+    public synchronized void setCapacity(long slots) {
+        if (slots < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + slots);
+        }
+        capacity = slots;
+        evictToCapacity();
+    }
+    
+    /** Number of cached results. */
+    public synchronized int size() {
+        return entries.size();
+    }
+    
+    /** Slots held by the cached results. */
+    public synchronized long getWeight() {
+        return weight;
+    }
+    
+    public synchronized long getHitCount() {
+        return hits;
+    }
+    
+    public synchronized long getMissCount() {
+        return misses;
+    }
+    
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+    
+    /** Hits as a fraction of lookups, or 0 before the first lookup. */
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups > 0 ? (double) hits / lookups : 0;
+    }
+    
+    /** Drops every cached result; the statistics are kept. */
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+    
+    @Override
+    public synchronized String toString() {
+        return String.format("%d results, %d / %d slots, %d hits, %d misses, %d evictions",
+            entries.size(), weight, capacity, hits, misses, evictions);
+    }
+    
+    /** Order-sensitive hash of the inputs of {@code tasks}. */
+    static long fingerprint(List<Task> tasks) {
+        long h = tasks.size();
+        for (Task task : tasks) {
+            h = mix(h, task.getId());
+            h = mix(h, Objects.hashCode(task.getName()));
+            h = mix(h, ((long) task.getArrivalTime() << 32) | (task.getBurstTime() & 0xFFFFFFFFL));
+            h = mix(h, ((long) task.getDeadline() << 32) | (task.getPriority() & 0xFFFFFFFFL));
+        }
+        return h;
+    }
+    
+    private static long mix(long h, long value) {
+        h ^= value * 0x9E3779B97F4A7C15L;
+        return Long.rotateLeft(h, 29) * 0xBF58476D1CE4E5B9L;
+    }
+    
+    /**
+     * The cached result of the scheduler with {@code configurationKey} on
+     * {@code tasks}, whose {@link #fingerprint(List)} is given, or null.
+     */
+    synchronized SchedulingResult get(String configurationKey, List<Task> tasks, long fingerprint) {
+        if (capacity == 0) {
+            return null;
+        }
+        Entry entry = entries.get(new Key(configurationKey, fingerprint, tasks.size()));
+        if (entry != null && sameInputs(entry.tasks, tasks)) {
+            hits++;
+            return entry.result;
+        }
+        misses++;
+        return null;
+    }
+    
+    /**
+     * Caches a finished result, freezing it, and returns it. Cancelled results
+     * and those that do not fit are returned as they are.
+     */
+    synchronized SchedulingResult put(String configurationKey, List<Task> tasks, long fingerprint,
+                                      SchedulingResult result) {
+        long size = Math.max(1, result.getSlotCount());
+        if (result.isCancelled() || size > capacity) {
+            return result;
+        }
+        result.freeze();
+        Entry previous = entries.put(new Key(configurationKey, fingerprint, tasks.size()),
+            new Entry(tasks, result, size));
+        if (previous != null) {
+            weight -= previous.weight;
+        }
+        weight += size;
+        evictToCapacity();
+        return result;
+    }
+    
+    private void evictToCapacity() {
+        Iterator<Entry> eldestFirst = entries.values().iterator();
+        while (weight > capacity && eldestFirst.hasNext()) {
+            weight -= eldestFirst.next().weight;
+            eldestFirst.remove();
+            evictions++;
+        }
+    }
+    
+    private static boolean sameInputs(List<Task> a, List<Task> b) {
+        if (a == b) return true;
+        if (a.size() != b.size()) return false;
+        for (int i = 0; i < a.size(); i++) {
+            Task x = a.get(i);
+            Task y = b.get(i);
+            if (x != y && (x.getId() != y.getId() || !Objects.equals(x.getName(), y.getName())
+                    || x.getArrivalTime() != y.getArrivalTime() || x.getBurstTime() != y.getBurstTime()
+                    || x.getDeadline() != y.getDeadline() || x.getPriority() != y.getPriority())) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static final class Key {
+        private final String configuration;
+        private final long fingerprint;
+        private final int taskCount;
+        
+        Key(String configuration, long fingerprint, int taskCount) {
+            this.configuration = configuration;
+            this.fingerprint = fingerprint;
+            this.taskCount = taskCount;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return fingerprint == other.fingerprint && taskCount == other.taskCount
+                && configuration.equals(other.configuration);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Long.hashCode(fingerprint) * 31 + configuration.hashCode();
+        }
+    }
+    
+    private static final class Entry {
+        final List<Task> tasks;
+        final SchedulingResult result;
+        final long weight;
+        
+        Entry(List<Task> tasks, SchedulingResult result, long weight) {
+            this.tasks = tasks;
+            this.result = result;
+            this.weight = weight;
+        }
+    }
+}
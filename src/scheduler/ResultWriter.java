@@ -0,0 +1,247 @@
+package scheduler;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * Buffered CSV or JSON Lines export of scheduling results
+ *
+ * Text is encoded straight into a direct buffer that is flushed to a
+ * {@link FileChannel}; numbers are formatted digit by digit, so exporting a
+ * full schedule does not create a string per slot. The format follows the
+ * file extension ({@code .csv}, otherwise JSON Lines). A writer holds either
+ * statistics rows or slot rows, one per line.
+ */
+public final class ResultWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String STATISTICS_HEADER = "algorithm,tasks,avgWaiting,avgTurnaround,avgResponse,"
+        + "totalTime,cpuUtilization,missedDeadlines,waitingP50,waitingP95,waitingP99,waitingMax,"
+        + "turnaroundP50,turnaroundP95,turnaroundP99,turnaroundMax,responseP50,responseP95,responseP99,"
+        + "responseMax,elapsedMs,cancelled";
+    private static final String SLOT_HEADER = "algorithm,task,start,end,cpu";
+    
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final boolean csv;
+    private final byte[] digits = new byte[20];
+    private boolean headerWritten;
+    private boolean firstField;
+    
+    private ResultWriter(FileChannel channel, boolean csv) {
+        this.channel = channel;
+        this.csv = csv;
+    }
+    
+    public static ResultWriter open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+        return new ResultWriter(channel, path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv"));
+    }
+    
+    /** Writes one line of summary statistics for a finished run. */
+    public void writeStatistics(SchedulingResult result, long elapsedNanos) throws IOException {
+        header(STATISTICS_HEADER);
+        byte[] algorithm = quoted(result.getAlgorithmName());
+        beginRecord();
+        field("algorithm", algorithm);
+        field("tasks", result.getCompletedTaskCount());
+        field("avgWaiting", result.getAverageWaitingTime());
+        field("avgTurnaround", result.getAverageTurnaroundTime());
+        field("avgResponse", result.getAverageResponseTime());
+        field("totalTime", result.getTotalCompletionTime());
+        field("cpuUtilization", result.getCpuUtilization());
+        field("missedDeadlines", result.getMissedDeadlines());
+        distribution("waiting", result.getWaitingTimeDistribution());
+        distribution("turnaround", result.getTurnaroundTimeDistribution());
+        distribution("response", result.getResponseTimeDistribution());
+        field("elapsedMs", elapsedNanos / 1e6);
+        field("cancelled", result.isCancelled() ? "true" : "false");
+        endRecord();
+    }
+    
+    /** Writes every time slot of a run, one line each. */
+    public void writeSlots(SchedulingResult result) throws IOException {
+        header(SLOT_HEADER);
+        byte[] algorithm = quoted(result.getAlgorithmName());
+        int count = result.getSlotCount();
+        for (int i = 0; i < count; i++) {
+            beginRecord();
+            field("algorithm", algorithm);
+            field("task", result.getSlotTaskId(i));
+            field("start", result.getSlotStart(i));
+            field("end", result.getSlotEnd(i));
+            field("cpu", result.getSlotCpu(i));
+            endRecord();
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+    
+    private void distribution(String prefix, QuantileSketch sketch) throws IOException {
+        field(prefix + "P50", sketch.getP50());
+        field(prefix + "P95", sketch.getP95());
+        field(prefix + "P99", sketch.getP99());
+        field(prefix + "Max", sketch.getMax());
+    }
+    
+    // ----- Record framing -----
+    
+    private void header(String columns) throws IOException {
+        if (csv && !headerWritten) {
+            ascii(columns);
+            put((byte) '\n');
+        }
+        headerWritten = true;
+    }
+    
+    private void beginRecord() throws IOException {
+        if (!csv) {
+            put((byte) '{');
+        }
+        firstField = true;
+    }
+    
+    private void endRecord() throws IOException {
+        if (!csv) {
+            put((byte) '}');
+        }
+        put((byte) '\n');
+    }
+    
+    private void separator(String name) throws IOException {
+        if (!firstField) {
+            put((byte) ',');
+        }
+        firstField = false;
+        if (!csv) {
+            put((byte) '"');
+            ascii(name);
+            put((byte) '"');
+            put((byte) ':');
+        }
+    }
+    
+    // Field names are literals, so CSV and JSON share the same call sites
+    private void field(String name, byte[] quotedValue) throws IOException {
+        separator(name);
+        if (quotedValue.length > buffer.capacity()) {
+            flush();
+            ByteBuffer value = ByteBuffer.wrap(quotedValue);
+            while (value.hasRemaining()) {
+                channel.write(value);
+            }
+            return;
+        }
+        ensureRoom(quotedValue.length);
+        buffer.put(quotedValue);
+    }
+    
+    private void field(String name, String literal) throws IOException {
+        separator(name);
+        ascii(literal);
+    }
+    
+    private void field(String name, long value) throws IOException {
+        separator(name);
+        number(value);
+    }
+    
+    private void field(String name, double value) throws IOException {
+        separator(name);
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            ascii(csv ? "" : "null");
+            return;
+        }
+        // Fixed four decimals, enough for averages and percentages
+        long scaled = Math.round(value * 10000);
+        if (scaled < 0) {
+            put((byte) '-');
+            scaled = -scaled;
+        }
+        number(scaled / 10000);
+        put((byte) '.');
+        long fraction = scaled % 10000;
+        for (long unit = 1000; unit > 0; unit /= 10) {
+            put((byte) ('0' + fraction / unit % 10));
+        }
+    }
+    
+    /** Encodes a string once per result, quoted for the output format. */
+    private byte[] quoted(String value) {
+        StringBuilder text = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                text.append(csv ? "\"\"" : "\\\"");
+            } else if (!csv && c == '\\') {
+                text.append("\\\\");
+            } else if (!csv && c < 0x20) {
+                text.append(String.format("\\u%04x", (int) c));
+            } else {
+                text.append(c);
+            }
+        }
+        return text.append('"').toString().getBytes(StandardCharsets.UTF_8);
+    }
+    
+    // ----- Encoding -----
+    
+    private void number(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            ascii(Long.toString(value));
+            return;
+        }
+        if (value < 0) {
+            put((byte) '-');
+            value = -value;
+        }
+        int length = 0;
+        do {
+            digits[length++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        ensureRoom(length);
+        while (length > 0) {
+            buffer.put(digits[--length]);
+        }
+    }
+    
+    private void ascii(String text) throws IOException {
+        ensureRoom(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            buffer.put((byte) text.charAt(i));
+        }
+    }
+    
+    private void put(byte b) throws IOException {
+        ensureRoom(1);
+        buffer.put(b);
+    }
+    
+    private void ensureRoom(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+    
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
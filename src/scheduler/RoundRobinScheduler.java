@@ -0,0 +1,56 @@
+package scheduler;
+
+import java.util.*;
+
+/**
+ * Round Robin (RR) - Time-sliced algorithm
+ * Serves ready tasks in FIFO order, each for at most one time quantum
+ */
+public class RoundRobinScheduler implements Scheduler {
+    private static final int DEFAULT_QUANTUM = 4;
+    
+    private final int quantum;
+    private final String name;
+    
+    public RoundRobinScheduler() {
+        this(DEFAULT_QUANTUM);
+    }
+    
+    public RoundRobinScheduler(int quantum) {
+        if (quantum < 1) {
+            throw new IllegalArgumentException("Quantum must be positive: " + quantum);
+        }
+        this.quantum = quantum;
+        this.name = "Round Robin (q=" + quantum + ")";
+    }
+    
+    @Override
+    public SchedulingResult schedule(List<Task> tasks) {
+        return schedule(TaskTable.fromTasks(tasks));
+    }
+    
+    @Override
+    public SchedulingResult schedule(TaskTable table) {
+        ReadyQueue readyQueue = new TaskRingQueue(Math.min(table.size(), 1024), quantum);
+        return SimulationEngine.simulate(getAlgorithmName(), table, readyQueue, false);
+    }
+    
+    @Override
+    public SchedulingResult schedule(SchedulingWorkspace workspace) {
+        return SimulationEngine.simulate(getAlgorithmName(), workspace, workspace.ringQueue(quantum), false);
+    }
+    
+    public int getQuantum() {
+        return quantum;
+    }
+    
+    @Override
+    public String getAlgorithmName() {
+        return name;
+    }
+    
+    @Override
+    public String getConfigurationKey() {
+        return getClass().getName() + "(quantum=" + quantum + ")";
+    }
+}
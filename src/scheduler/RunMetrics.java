@@ -0,0 +1,60 @@
+package scheduler;
+
+/**
+ * Counters of one scheduler run, attached to its {@link SchedulingResult}
+ * while {@link SchedulerMetrics} is enabled
+ *
+ * A context switch is the CPU taking up a task other than the one that held
+ * it last; a preemption is a running task losing the CPU before it finished,
+ * to an arrival or at the end of its time slice. Idle gaps are stretches with
+ * nothing to run before the next arrival. For a multi-core run the counters
+ * cover all processors and the queue depth is the total over all queues; a
+ * run resumed by {@link IncrementalSchedule} only counts the resumed part.
+ */
+public final class RunMetrics {
+    private final String algorithmName;
+    private final long decisionPoints;
+    private final long preemptions;
+    private final long contextSwitches;
+    private final long queueOffers;
+    private final long queuePolls;
+    private final int peakQueueDepth;
+    private final long idleGaps;
+    private final long idleTime;
+    private final long elapsedNanos;
+    
+    RunMetrics(String algorithmName, long decisionPoints, long preemptions, long contextSwitches,
+               long queueOffers, long queuePolls, int peakQueueDepth, long idleGaps, long idleTime,
+               long elapsedNanos) {
+        this.algorithmName = algorithmName;
+        this.decisionPoints = decisionPoints;
+        this.preemptions = preemptions;
+        this.contextSwitches = contextSwitches;
+        this.queueOffers = queueOffers;
+        this.queuePolls = queuePolls;
+        this.peakQueueDepth = peakQueueDepth;
+        this.idleGaps = idleGaps;
+        this.idleTime = idleTime;
+        this.elapsedNanos = elapsedNanos;
+    }
+    
+    public String getAlgorithmName() { return algorithmName; }
+    public long getDecisionPoints() { return decisionPoints; }
+    public long getPreemptions() { return preemptions; }
+    public long getContextSwitches() { return contextSwitches; }
+    public long getQueueOffers() { return queueOffers; }
+    public long getQueuePolls() { return queuePolls; }
+    public int getPeakQueueDepth() { return peakQueueDepth; }
+    public long getIdleGaps() { return idleGaps; }
+    /** Total length of the idle gaps in time units. */
+    public long getIdleTime() { return idleTime; }
+    /** Wall-clock duration of the run. */
+    public long getElapsedNanos() { return elapsedNanos; }
+    
+    @Override
+    public String toString() {
+        return String.format("%s: %.3f ms, %d decisions, %d preemptions, %d switches, %d offers, %d polls, "
+                + "peak queue %d, %d idle gaps (%d units)", algorithmName, elapsedNanos / 1e6, decisionPoints,
+            preemptions, contextSwitches, queueOffers, queuePolls, peakQueueDepth, idleGaps, idleTime);
+    }
+}
@@ -0,0 +1,15 @@
+package scheduler;
+
+/**
+ * Receives scheduling events as the simulation produces them
+ * 
+ * Used by streaming schedulers to push results out instead of collecting
+ * them, so memory stays bounded by the ready queue rather than the trace.
+ */
+public interface ScheduleListener {
+    /** Called once for every contiguous interval a task held the CPU. */
+    void onTimeSlot(TimeSlot slot);
+    
+    /** Called when a task finishes, after its completion time has been set. */
+    void onTaskCompleted(Task task);
+}
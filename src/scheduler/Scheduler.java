@@ -13,5 +13,35 @@ import java.util.List;
 public interface Scheduler {
     SchedulingResult schedule(List<Task> tasks);
     String getAlgorithmName();
+    
+    /**
+     * Identity and configuration of this scheduler, e.g. its class and time
+     * quantum: two schedulers with equal keys produce the same result for the
+     * same tasks, which lets {@link SchedulerManager} reuse results. Null, the
+     * default, keeps this scheduler's results out of the cache.
+     */
+    default String getConfigurationKey() {
+        return null;
+    }
+    
+    /**
+     * Schedules the rows of a columnar table, e.g. one loaded from a
+     * {@link TaskTrace}. The table's run state is overwritten, so a table must
+     * not be shared between concurrent runs. The default materializes the rows
+     * as {@link Task}s; engine-based schedulers run on the table directly.
+     */
+    default SchedulingResult schedule(TaskTable table) {
+        return schedule(table.toTasks());
+    }
+    
+    /**
+     * Schedules the workspace's table reusing its result and ready queues,
+     * so repeated runs allocate next to nothing once warmed up. The returned
+     * result belongs to the workspace and is overwritten by its next run.
+     * The default falls back to {@link #schedule(TaskTable)}.
+     */
+    default SchedulingResult schedule(SchedulingWorkspace workspace) {
+        return schedule(workspace.getTaskTable());
+    }
 }
 
@@ -1,18 +1,38 @@
 package scheduler;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
 
 /**
  * Manages multiple schedulers and provides comparison functionality
+ * 
+ * All runs on one task list share a single {@link TaskTable} of its inputs,
+ * sorted once; each run only gets its own run-state columns through
+ * {@link TaskTable#withSharedInputs()}, so comparing many schedulers, in
+ * parallel or not, copies the tasks once rather than once per scheduler.
+ * 
+ * Results are cached in a {@link ResultCache}: running a scheduler again on
+ * an unchanged task list returns the previous, now read-only, result instead
+ * of scheduling again. Schedulers without a configuration key are always run.
  */
 public class SchedulerManager {
+    /** Marker a run puts among the finished runs when it starts. */
+    private static final Future<SchedulingResult> RUN_STARTED = CompletableFuture.completedFuture(null);
+    
     private List<Scheduler> schedulers;
     private List<Task> tasks;
+    private long tasksFingerprint;
+    private TaskTable inputs; // built from tasks on first use
+    private final ResultCache resultCache = new ResultCache(ResultCache.DEFAULT_CAPACITY);
+    private ExecutorService executor; // null = common ForkJoinPool
+    private long schedulerTimeoutNanos; // 0 = no timeout
+    private IncrementalSchedule incremental; // last of runSchedulerIncrementally, guarded by this
     
     public SchedulerManager() {
         schedulers = new ArrayList<>();
         tasks = new ArrayList<>();
+        tasksFingerprint = ResultCache.fingerprint(tasks);
         
         // Add default schedulers
         schedulers.add(new FirstComeFirstServedScheduler());
@@ -21,6 +41,8 @@ public class SchedulerManager {
         schedulers.add(new EarliestDeadlineFirstScheduler());
         schedulers.add(new PriorityScheduler(false));
         schedulers.add(new PriorityScheduler(true));
+        schedulers.add(new RoundRobinScheduler());
+        schedulers.add(new MLFQScheduler());
     }
     
     public void addScheduler(Scheduler scheduler) {
@@ -29,26 +51,328 @@ public class SchedulerManager {
     
     public void setTasks(List<Task> tasks) {
         this.tasks = new ArrayList<>(tasks);
+        this.tasksFingerprint = ResultCache.fingerprint(this.tasks);
+        this.inputs = null;
     }
     
     public List<Task> getTasks() {
         return new ArrayList<>(tasks);
     }
     
+    /**
+     * Sets the executor used by {@link #runAllSchedulersParallel()}.
+     * Pass null to fall back to the common ForkJoinPool.
+     */
+    public void setExecutor(ExecutorService executor) {
+        this.executor = executor;
+    }
+    
+    /**
+     * Limits how long each scheduler may run in parallel mode, counted from
+     * when it starts running, not from submission; zero disables the limit.
+     */
+    public void setSchedulerTimeout(long timeout, TimeUnit unit) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("Timeout must not be negative: " + timeout);
+        }
+        this.schedulerTimeoutNanos = unit.toNanos(timeout);
+    }
+    
+    /**
+     * Cache of the results of {@link #runScheduler(Scheduler)},
+     * {@link #runSchedulerIncrementally(Scheduler)} and the run-all methods.
+     */
+    public ResultCache getResultCache() {
+        return resultCache;
+    }
+    
     public List<SchedulingResult> runAllSchedulers() {
         List<SchedulingResult> results = new ArrayList<>();
         for (Scheduler scheduler : schedulers) {
-            results.add(scheduler.schedule(tasks));
+            results.add(runScheduler(scheduler));
         }
         return results;
     }
     
+    /**
+     * Runs every registered scheduler concurrently on the current task list.
+     * 
+     * Results are returned in registration order. A scheduler that runs longer
+     * than the configured timeout is cancelled and reported as a result whose
+     * {@link SchedulingResult#isCancelled()} is true; time spent waiting for a
+     * thread does not count against it.
+     */
+    public List<SchedulingResult> runAllSchedulersParallel() throws InterruptedException {
+        return runAllSchedulersParallel(result -> { });
+    }
+    
+    /**
+     * Like {@link #runAllSchedulersParallel()}, but also hands each result to
+     * {@code onCompleted} as soon as it is available, in completion order.
+     * The callback runs on the calling thread; results found in the cache are
+     * handed over first. Interrupting the caller cancels every scheduler that
+     * has not finished yet.
+     */
+    public List<SchedulingResult> runAllSchedulersParallel(Consumer<? super SchedulingResult> onCompleted)
+            throws InterruptedException {
+        ExecutorService pool = executor != null ? executor : ForkJoinPool.commonPool();
+        // Finished runs, plus RUN_STARTED whenever a run starts and its clock with it
+        BlockingQueue<Future<SchedulingResult>> events = new LinkedBlockingQueue<>();
+        CompletionService<SchedulingResult> completion = new ExecutorCompletionService<>(pool, events);
+        List<Task> snapshot = tasks;
+        long fingerprint = tasksFingerprint;
+        TaskTable sharedInputs = inputs();
+        SchedulingResult[] results = new SchedulingResult[schedulers.size()];
+        String[] keys = new String[results.length];
+        // Null where the result came from the cache
+        List<ScheduledRun> runs = new ArrayList<>();
+        List<Future<SchedulingResult>> futures = new ArrayList<>();
+        Map<Future<SchedulingResult>, Integer> indexOf = new IdentityHashMap<>();
+        int submitted = 0;
+        
+        for (int i = 0; i < results.length; i++) {
+            Scheduler scheduler = schedulers.get(i);
+            keys[i] = scheduler.getConfigurationKey();
+            if (keys[i] != null) {
+                results[i] = resultCache.get(keys[i], snapshot, fingerprint);
+            }
+            if (results[i] != null) {
+                runs.add(null);
+                futures.add(null);
+                continue;
+            }
+            ScheduledRun run = new ScheduledRun(scheduler, sharedInputs, events);
+            Future<SchedulingResult> future = completion.submit(run);
+            indexOf.put(future, i);
+            runs.add(run);
+            futures.add(future);
+            submitted++;
+        }
+        for (SchedulingResult cached : results) {
+            if (cached != null) {
+                onCompleted.accept(cached);
+            }
+        }
+        
+        try {
+            int done = 0;
+            while (done < submitted) {
+                Future<SchedulingResult> future;
+                if (schedulerTimeoutNanos == 0) {
+                    future = completion.take();
+                } else {
+                    future = completion.poll(nanosToNextTimeout(runs, results), TimeUnit.NANOSECONDS);
+                    if (future == null) {
+                        done += cancelTimedOut(runs, futures, results, onCompleted);
+                        continue;
+                    }
+                }
+                if (future == RUN_STARTED) {
+                    continue; // recompute the next timeout
+                }
+                int i = indexOf.get(future);
+                if (results[i] != null) {
+                    continue; // cancelled for its timeout already
+                }
+                results[i] = resultOf(runs.get(i), future);
+                if (keys[i] != null) {
+                    results[i] = resultCache.put(keys[i], snapshot, fingerprint, results[i]);
+                }
+                onCompleted.accept(results[i]);
+                done++;
+            }
+        } finally {
+            // Abandon whatever is still running if we are leaving early
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] == null) {
+                    futures.get(i).cancel(false);
+                    runs.get(i).cancel();
+                }
+            }
+        }
+        return new ArrayList<>(Arrays.asList(results));
+    }
+    
+    // Time until the first started, unfinished run reaches the timeout; unbounded if none has started
+    private long nanosToNextTimeout(List<ScheduledRun> runs, SchedulingResult[] results) {
+        long now = System.nanoTime();
+        long wait = Long.MAX_VALUE;
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null && runs.get(i).hasStarted()) {
+                wait = Math.min(wait, runs.get(i).getStartNanos() + schedulerTimeoutNanos - now);
+            }
+        }
+        return Math.max(0, wait);
+    }
+    
+    // Cancels the runs that are over their own timeout and returns how many
+    private int cancelTimedOut(List<ScheduledRun> runs, List<Future<SchedulingResult>> futures,
+                               SchedulingResult[] results, Consumer<? super SchedulingResult> onCompleted) {
+        long now = System.nanoTime();
+        int cancelled = 0;
+        for (int i = 0; i < results.length; i++) {
+            ScheduledRun run = runs.get(i);
+            if (results[i] == null && run.hasStarted() && now - run.getStartNanos() >= schedulerTimeoutNanos) {
+                futures.get(i).cancel(false);
+                run.cancel();
+                results[i] = cancelledResult(run);
+                onCompleted.accept(results[i]);
+                cancelled++;
+            }
+        }
+        return cancelled;
+    }
+    
+    private static SchedulingResult resultOf(ScheduledRun run, Future<SchedulingResult> future)
+            throws InterruptedException {
+        try {
+            return future.get();
+        } catch (CancellationException e) {
+            return cancelledResult(run);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof CancellationException) {
+                return cancelledResult(run);
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(run.scheduler.getAlgorithmName() + " failed", cause);
+        }
+    }
+    
+    private static SchedulingResult cancelledResult(ScheduledRun run) {
+        SchedulingResult cancelled = new SchedulingResult(run.scheduler.getAlgorithmName());
+        cancelled.markCancelled();
+        return cancelled;
+    }
+    
+    /**
+     * Starts a {@link ParameterSweep} over the current tasks with every
+     * registered scheduler added; add more configurations before running it.
+     */
+    public ParameterSweep createSweep() {
+        ParameterSweep sweep = new ParameterSweep(inputs());
+        for (Scheduler scheduler : schedulers) {
+            sweep.add(scheduler);
+        }
+        return sweep;
+    }
+    
     public SchedulingResult runScheduler(Scheduler scheduler) {
-        return scheduler.schedule(tasks);
+        List<Task> snapshot = tasks;
+        long fingerprint = tasksFingerprint;
+        String key = scheduler.getConfigurationKey();
+        if (key == null) {
+            return scheduler.schedule(inputs().withSharedInputs());
+        }
+        SchedulingResult cached = resultCache.get(key, snapshot, fingerprint);
+        if (cached != null) {
+            return cached;
+        }
+        SchedulingResult result = scheduler.schedule(inputs().withSharedInputs());
+        return resultCache.put(key, snapshot, fingerprint, result);
+    }
+    
+    /**
+     * Like {@link #runScheduler(Scheduler)}, but when the last call ran the
+     * same scheduler, a cache miss only simulates the schedule again from
+     * before the first changed task; see {@link IncrementalSchedule}. The
+     * result is always a read-only snapshot, so it can be displayed while a
+     * later call updates the schedule.
+     */
+    public synchronized SchedulingResult runSchedulerIncrementally(Scheduler scheduler) {
+        List<Task> snapshot = tasks;
+        long fingerprint = tasksFingerprint;
+        String key = scheduler.getConfigurationKey();
+        if (key != null) {
+            SchedulingResult cached = resultCache.get(key, snapshot, fingerprint);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        if (incremental != null && incremental.getScheduler() == scheduler) {
+            incremental.setTasks(snapshot);
+        } else {
+            incremental = new IncrementalSchedule(scheduler, snapshot);
+        }
+        SchedulingResult result = incremental.getSnapshot();
+        return key != null ? resultCache.put(key, snapshot, fingerprint, result) : result;
+    }
+    
+    // Input columns of the current tasks; never scheduled itself, only shared
+    private TaskTable inputs() {
+        TaskTable table = inputs;
+        if (table == null) {
+            table = TaskTable.fromTasks(tasks);
+            inputs = table;
+        }
+        return table;
     }
     
     public List<Scheduler> getSchedulers() {
         return new ArrayList<>(schedulers);
     }
+    
+    /**
+     * One scheduler invocation in parallel mode. Cancellation interrupts the
+     * worker thread only while this run owns it, so a late cancel can never
+     * leak an interrupt into unrelated work on a shared pool.
+     */
+    private static final class ScheduledRun implements Callable<SchedulingResult> {
+        private final Scheduler scheduler;
+        private final TaskTable inputs;
+        private final Queue<Future<SchedulingResult>> events;
+        private Thread runner;
+        private boolean started;
+        private long startNanos;
+        private boolean cancelled;
+        
+        ScheduledRun(Scheduler scheduler, TaskTable inputs, Queue<Future<SchedulingResult>> events) {
+            this.scheduler = scheduler;
+            this.inputs = inputs;
+            this.events = events;
+        }
+        
+        @Override
+        public SchedulingResult call() {
+            synchronized (this) {
+                if (cancelled) {
+                    throw new CancellationException(scheduler.getAlgorithmName() + " cancelled");
+                }
+                runner = Thread.currentThread();
+                started = true;
+                startNanos = System.nanoTime();
+            }
+            events.offer(RUN_STARTED);
+            try {
+                return scheduler.schedule(inputs.withSharedInputs());
+            } finally {
+                synchronized (this) {
+                    runner = null;
+                    if (cancelled) {
+                        Thread.interrupted(); // clear a cancel that raced with completion
+                    }
+                }
+            }
+        }
+        
+        synchronized boolean hasStarted() {
+            return started;
+        }
+        
+        synchronized long getStartNanos() {
+            return startNanos;
+        }
+        
+        synchronized void cancel() {
+            cancelled = true;
+            if (runner != null) {
+                runner.interrupt();
+            }
+        }
+    }
 }
-
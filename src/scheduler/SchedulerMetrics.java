@@ -0,0 +1,147 @@
+package scheduler;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Switch and sink for run instrumentation
+ *
+ * The simulation loops always count decision points, preemptions, queue
+ * operations and idle gaps in local variables, which costs next to nothing.
+ * Only while instrumentation is enabled is a run's count turned into a
+ * {@link RunMetrics} on its result, added to the totals exposed over JMX
+ * and committed as a {@code scheduler.Run} Flight Recorder event when a
+ * recording has that event enabled. Disabled, the one extra cost per run is
+ * reading a volatile flag, so instrumentation can stay compiled in.
+ *
+ * Off by default; start the JVM with {@code -Dscheduler.metrics=true}, call
+ * {@link #setEnabled(boolean)} or flip it through the MXBean. The Flight
+ * Recorder event needs {@code jdk.jfr}, so it lives in the {@code jfr/}
+ * source tree, which is built only on JDK 11 or later, and is looked up
+ * reflectively; where it or {@code jdk.jfr} is missing the event is skipped
+ * and the rest still works.
+ */
+public final class SchedulerMetrics {
+    public static final String OBJECT_NAME = "scheduler:type=SchedulerMetrics";
+    
+    private static volatile boolean enabled = Boolean.getBoolean("scheduler.metrics");
+    // SchedulerRunEvent.commit(RunMetrics), or null without Flight Recorder support
+    private static final MethodHandle FLIGHT_RECORDER = flightRecorderEvent();
+    
+    private static final LongAdder runs = new LongAdder();
+    private static final LongAdder decisionPoints = new LongAdder();
+    private static final LongAdder preemptions = new LongAdder();
+    private static final LongAdder contextSwitches = new LongAdder();
+    private static final LongAdder queueOffers = new LongAdder();
+    private static final LongAdder queuePolls = new LongAdder();
+    private static final LongAccumulator peakQueueDepth = new LongAccumulator(Math::max, 0);
+    private static final LongAdder idleGaps = new LongAdder();
+    private static final LongAdder idleTime = new LongAdder();
+    private static final LongAdder elapsedNanos = new LongAdder();
+    
+    private SchedulerMetrics() {
+    }
+    
+    public static boolean isEnabled() {
+        return enabled;
+    }
+    
+    public static void setEnabled(boolean enabled) {
+        SchedulerMetrics.enabled = enabled;
+    }
+    
+    /**
+     * Registers the {@link SchedulerMetricsMXBean} with the platform MBean
+     * server under {@link #OBJECT_NAME}; does nothing if already registered.
+     */
+    public static void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new MXBean(), new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // Registered before
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+        }
+    }
+    
+    /** Clears the JMX totals. */
+    public static void reset() {
+        runs.reset();
+        decisionPoints.reset();
+        preemptions.reset();
+        contextSwitches.reset();
+        queueOffers.reset();
+        queuePolls.reset();
+        peakQueueDepth.reset();
+        idleGaps.reset();
+        idleTime.reset();
+        elapsedNanos.reset();
+    }
+    
+    /** Publishes a finished run's counters and attaches them to its result, if it has one. */
+    static void record(String algorithmName, SchedulingResult result, long decisions, long preemptionCount,
+                       long switches, long offers, long polls, int peakDepth, long gaps, long idle,
+                       long startNanos) {
+        RunMetrics metrics = new RunMetrics(algorithmName, decisions, preemptionCount, switches,
+            offers, polls, peakDepth, gaps, idle, System.nanoTime() - startNanos);
+        if (result != null) {
+            result.setMetrics(metrics);
+        }
+        runs.increment();
+        decisionPoints.add(decisions);
+        preemptions.add(preemptionCount);
+        contextSwitches.add(switches);
+        queueOffers.add(offers);
+        queuePolls.add(polls);
+        peakQueueDepth.accumulate(peakDepth);
+        idleGaps.add(gaps);
+        idleTime.add(idle);
+        elapsedNanos.add(metrics.getElapsedNanos());
+        if (FLIGHT_RECORDER != null) {
+            commitFlightRecorderEvent(metrics);
+        }
+    }
+    
+    private static MethodHandle flightRecorderEvent() {
+        try {
+            Class<?> event = Class.forName("scheduler.SchedulerRunEvent", true, SchedulerMetrics.class.getClassLoader());
+            return MethodHandles.lookup().findStatic(event, "commit",
+                MethodType.methodType(void.class, RunMetrics.class));
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+    
+    private static void commitFlightRecorderEvent(RunMetrics metrics) {
+        try {
+            FLIGHT_RECORDER.invokeExact(metrics);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot commit Flight Recorder event", e);
+        }
+    }
+    
+    private static final class MXBean implements SchedulerMetricsMXBean {
+        @Override public boolean isEnabled() { return enabled; }
+        @Override public void setEnabled(boolean on) { SchedulerMetrics.setEnabled(on); }
+        @Override public long getRunCount() { return runs.sum(); }
+        @Override public long getDecisionPoints() { return decisionPoints.sum(); }
+        @Override public long getPreemptions() { return preemptions.sum(); }
+        @Override public long getContextSwitches() { return contextSwitches.sum(); }
+        @Override public long getQueueOffers() { return queueOffers.sum(); }
+        @Override public long getQueuePolls() { return queuePolls.sum(); }
+        @Override public int getPeakQueueDepth() { return (int) peakQueueDepth.get(); }
+        @Override public long getIdleGaps() { return idleGaps.sum(); }
+        @Override public long getIdleTime() { return idleTime.sum(); }
+        @Override public long getTotalElapsedNanos() { return elapsedNanos.sum(); }
+        @Override public void reset() { SchedulerMetrics.reset(); }
+    }
+}
@@ -0,0 +1,22 @@
+package scheduler;
+
+/**
+ * JMX view of {@link SchedulerMetrics}: totals over all instrumented runs
+ * since the last reset, registered as {@value SchedulerMetrics#OBJECT_NAME}
+ */
+public interface SchedulerMetricsMXBean {
+    boolean isEnabled();
+    void setEnabled(boolean enabled);
+    long getRunCount();
+    long getDecisionPoints();
+    long getPreemptions();
+    long getContextSwitches();
+    long getQueueOffers();
+    long getQueuePolls();
+    /** Deepest ready queue of any run. */
+    int getPeakQueueDepth();
+    long getIdleGaps();
+    long getIdleTime();
+    long getTotalElapsedNanos();
+    void reset();
+}
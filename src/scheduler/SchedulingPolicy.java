@@ -0,0 +1,54 @@
+package scheduler;
+
+/**
+ * Ready-queue ordering policy plugged into the {@link SimulationEngine}
+ * 
+ * A greedy scheduler is fully described by how it orders the ready queue and
+ * whether a newly arrived task may take the CPU away from the running one.
+ */
+public interface SchedulingPolicy {
+    /**
+     * Ready-queue key of a task in streaming runs; the head is the task with
+     * the smallest key, ties broken by arrival order. Read when the task is
+     * offered and, for a preemption check, from the running task: when
+     * preemptive, an arriving task preempts it only with a strictly smaller key.
+     */
+    int getReadyQueueKey(Task task);
+    
+    /**
+     * Ready-queue keys of the rows of {@code table} in columnar runs, indexed
+     * by row, smaller runs first; ties are broken by arrival order. Queues
+     * fetch the column once per run and read a row's key whenever it is
+     * offered or compared, so the hot loop never calls back into the policy.
+     * It may be a column of the table itself, such as the remaining times,
+     * whose values change as tasks run; callers never write to it.
+     */
+    int[] getReadyQueueKeys(TaskTable table);
+    
+    /**
+     * Whether the ready queue is plain first-come-first-served order, so
+     * streaming runs keep it in a deque and never preempt instead of keeping
+     * a heap on {@link #getReadyQueueKey(Task)}.
+     */
+    default boolean isFifo() {
+        return false;
+    }
+    
+    /**
+     * Creates the ready queue for one columnar run; by default a heap ordered
+     * by {@link #getReadyQueueKeys(TaskTable)}.
+     */
+    default ReadyQueue createReadyQueue(TaskTable table) {
+        return new HeapReadyQueue(this, table);
+    }
+    
+    /**
+     * Ready queue for a run inside a {@link SchedulingWorkspace}, reused from
+     * its previous run when possible; by default the workspace's heap queue.
+     */
+    default ReadyQueue createReadyQueue(SchedulingWorkspace workspace) {
+        return workspace.heapQueue(this);
+    }
+    
+    boolean isPreemptive();
+}
@@ -1,81 +1,432 @@
 package scheduler;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 /**
  * Contains the results of a scheduling algorithm execution
+ * 
+ * Statistics are accumulated incrementally as slots and completions are
+ * recorded, using exact {@code long} sums, so they are ready as soon as the
+ * run ends. Waiting, turnaround and response time distributions are kept in
+ * fixed-size {@link QuantileSketch}es, allocated with the first completion,
+ * so results without any (cancelled or still empty) stay small.
+ * 
+ * Slots are kept in a {@link CompactSchedule}, which merges back-to-back slots
+ * of the same task; {@link #getSchedule()} is a read-only view that creates
+ * {@link TimeSlot}s on access. For a columnar run a slot's task index is its
+ * {@link TaskTable} row and the {@link Task} list is only built the first
+ * time it is requested; otherwise it indexes the distinct tasks seen in
+ * {@link #addTimeSlot(TimeSlot)}.
  */
-public class SchedulingResult {
+public class SchedulingResult implements ScheduleListener {
     private String algorithmName;
     private List<Task> tasks;
-    private List<TimeSlot> schedule;
-    private double averageWaitingTime;
-    private double averageTurnaroundTime;
+    private final CompactSchedule slots;
+    private final List<TimeSlot> scheduleView = new ScheduleView();
+    private boolean cancelled;
+    private boolean frozen;
+    private RunMetrics metrics; // null unless instrumentation was enabled
+    
+    // Running statistics
+    private long completedTasks;
+    private long totalWaitingTime;
+    private long totalTurnaroundTime;
+    private long totalResponseTime;
+    private long totalBusyTime;
+    private long[] coreBusyTime = new long[1];
     private int totalCompletionTime;
     private int missedDeadlines;
-    private double cpuUtilization;
+    private QuantileSketch waitingTimes;    // null until the first completion
+    private QuantileSketch turnaroundTimes;
+    private QuantileSketch responseTimes;
+    
+    // What the distribution getters return before the first completion
+    private static final QuantileSketch NO_COMPLETIONS = new QuantileSketch();
+    static {
+        NO_COMPLETIONS.freeze();
+    }
+    
+    // Columnar backing, null for object-based results
+    private TaskTable table;
+    
+    // Tasks referenced by slots of an object-based result, by task index
+    private List<Task> slotTasks;
+    private Map<Task, Integer> slotTaskIndexes;
     
     public SchedulingResult(String algorithmName) {
         this.algorithmName = algorithmName;
-        this.schedule = new ArrayList<>();
         this.tasks = new ArrayList<>();
+        this.slots = new CompactSchedule();
+        this.slotTasks = new ArrayList<>();
+        this.slotTaskIndexes = new IdentityHashMap<>();
+    }
+    
+    public SchedulingResult(String algorithmName, TaskTable table) {
+        this(algorithmName, table, 1);
+    }
+    
+    /** Columnar result of a run on {@code cpuCount} processors. */
+    public SchedulingResult(String algorithmName, TaskTable table, int cpuCount) {
+        this.algorithmName = algorithmName;
+        this.table = table;
+        this.coreBusyTime = new long[cpuCount];
+        this.slots = new CompactSchedule(table.size());
+    }
+    
+    // Copy of a columnar result; see copy()
+    private SchedulingResult(SchedulingResult other) {
+        this.algorithmName = other.algorithmName;
+        this.table = other.table.copy();
+        this.slots = other.slots.copy();
+        this.cancelled = other.cancelled;
+        this.metrics = other.metrics;
+        this.completedTasks = other.completedTasks;
+        this.totalWaitingTime = other.totalWaitingTime;
+        this.totalTurnaroundTime = other.totalTurnaroundTime;
+        this.totalResponseTime = other.totalResponseTime;
+        this.totalBusyTime = other.totalBusyTime;
+        this.coreBusyTime = other.coreBusyTime.clone();
+        this.totalCompletionTime = other.totalCompletionTime;
+        this.missedDeadlines = other.missedDeadlines;
+        if (other.waitingTimes != null) {
+            this.waitingTimes = other.waitingTimes.copy();
+            this.turnaroundTimes = other.turnaroundTimes.copy();
+            this.responseTimes = other.responseTimes.copy();
+        }
+    }
+    
+    /**
+     * Copy of a columnar result, with its own table run state, schedule and
+     * sketches, that later changes to this one, as by {@link #rewind}, leave
+     * alone; used by {@link IncrementalSchedule#getSnapshot()}.
+     */
+    SchedulingResult copy() {
+        return new SchedulingResult(this);
+    }
+    
+    /**
+     * Clears a single-CPU columnar result for another run on the same table,
+     * keeping its slot arrays and sketches; used by {@link SchedulingWorkspace}.
+     */
+    void reset(String algorithmName) {
+        this.algorithmName = algorithmName;
+        tasks = null;
+        slots.clear();
+        cancelled = false;
+        metrics = null;
+        completedTasks = 0;
+        totalWaitingTime = 0;
+        totalTurnaroundTime = 0;
+        totalResponseTime = 0;
+        totalBusyTime = 0;
+        if (coreBusyTime.length != 1) {
+            coreBusyTime = new long[1];
+        }
+        coreBusyTime[0] = 0;
+        totalCompletionTime = 0;
+        missedDeadlines = 0;
+        if (waitingTimes != null) {
+            waitingTimes.reset();
+            turnaroundTimes.reset();
+            responseTimes.reset();
+        }
+    }
+    
+    /**
+     * Winds a single-CPU columnar result back to a {@link SimulationCheckpoint}
+     * of its run, now over {@code table}, whose rows before the checkpoint
+     * are restored to it: later slots are dropped and the completions before
+     * the checkpoint folded in again. Used by {@link IncrementalSchedule}.
+     */
+    void rewind(TaskTable table, SimulationCheckpoint checkpoint) {
+        this.table = table;
+        tasks = null;
+        slots.truncate(checkpoint.slotCount, checkpoint.lastSlotEnd);
+        cancelled = false;
+        metrics = null;
+        completedTasks = 0;
+        totalWaitingTime = 0;
+        totalTurnaroundTime = 0;
+        totalResponseTime = 0;
+        totalBusyTime = checkpoint.busyTime;
+        coreBusyTime[0] = checkpoint.busyTime;
+        totalCompletionTime = checkpoint.slotCount > 0 ? checkpoint.lastSlotEnd : 0;
+        missedDeadlines = 0;
+        if (waitingTimes != null) {
+            waitingTimes.reset();
+            turnaroundTimes.reset();
+            responseTimes.reset();
+        }
+        int[] completionTimes = table.completionTimes;
+        for (int row = 0; row < checkpoint.nextRow; row++) {
+            if (completionTimes[row] >= 0) {
+                recordCompletion(table.arrivalTimes[row], table.burstTimes[row], table.startTimes[row],
+                    completionTimes[row], table.deadlines[row]);
+            }
+        }
     }
     
     public void addTimeSlot(TimeSlot slot) {
-        schedule.add(slot);
+        checkNotFrozen();
+        Task task = slot.getTask();
+        Integer index = slotTaskIndexes.get(task);
+        if (index == null) {
+            index = slotTasks.size();
+            slotTasks.add(task);
+            slotTaskIndexes.put(task, index);
+        }
+        slots.add(index, slot.getStartTime(), slot.getEndTime(), slot.getCpuId());
+        recordBusy(slot.getStartTime(), slot.getEndTime(), slot.getCpuId());
     }
     
-    public void calculateStatistics() {
-        if (tasks.isEmpty()) return;
+    /** Records a slot of a columnar run by table row. */
+    void addTimeSlot(int row, int startTime, int endTime) {
+        addTimeSlot(row, startTime, endTime, 0);
+    }
+    
+    void addTimeSlot(int row, int startTime, int endTime, int cpuId) {
+        slots.add(row, startTime, endTime, cpuId);
+        recordBusy(startTime, endTime, cpuId);
+    }
+    
+    private void recordBusy(int startTime, int endTime, int cpuId) {
+        if (cpuId >= coreBusyTime.length) {
+            coreBusyTime = Arrays.copyOf(coreBusyTime, cpuId + 1);
+        }
+        coreBusyTime[cpuId] += endTime - startTime;
+        totalBusyTime += endTime - startTime;
+        if (endTime > totalCompletionTime) {
+            totalCompletionTime = endTime;
+        }
+    }
+    
+    /** Folds a finished task into the statistics. */
+    public void recordCompletion(Task task) {
+        checkNotFrozen();
+        recordCompletion(task.getArrivalTime(), task.getBurstTime(), task.getStartTime(),
+            task.getCompletionTime(), task.getDeadline());
+    }
+    
+    void recordCompletion(int arrivalTime, int burstTime, int startTime, int completionTime, int deadline) {
+        int turnaround = completionTime - arrivalTime;
+        int waiting = turnaround - burstTime;
+        int response = startTime - arrivalTime;
         
-        int totalWaiting = 0;
-        int totalTurnaround = 0;
-        int completed = 0;
+        completedTasks++;
+        totalTurnaroundTime += turnaround;
+        totalWaitingTime += waiting;
+        totalResponseTime += response;
+        if (waitingTimes == null) {
+            waitingTimes = new QuantileSketch();
+            turnaroundTimes = new QuantileSketch();
+            responseTimes = new QuantileSketch();
+        }
+        turnaroundTimes.record(turnaround);
+        waitingTimes.record(waiting);
+        responseTimes.record(response);
         
+        if (deadline > 0 && completionTime > deadline) {
+            missedDeadlines++;
+        }
+    }
+    
+    @Override
+    public void onTimeSlot(TimeSlot slot) {
+        addTimeSlot(slot);
+    }
+    
+    @Override
+    public void onTaskCompleted(Task task) {
+        recordCompletion(task);
+    }
+    
+    /**
+     * Statistics are kept up to date as the run progresses. This only catches
+     * up on results assembled by hand through {@link #setTasks(List)} without
+     * reporting completions, by folding in the finished tasks once.
+     */
+    public void calculateStatistics() {
+        if (completedTasks > 0 || table != null) return;
+        checkNotFrozen();
         for (Task task : tasks) {
             if (task.getCompletionTime() >= 0) {
-                totalWaiting += task.getWaitingTime();
-                totalTurnaround += task.getTurnaroundTime();
-                completed++;
+                recordCompletion(task);
             }
         }
-        
-        if (completed > 0) {
-            averageWaitingTime = (double) totalWaiting / completed;
-            averageTurnaroundTime = (double) totalTurnaround / completed;
+    }
+    
+    /**
+     * Makes this result read-only so it can be shared, as by the result
+     * cache of {@link SchedulerManager}: its mutators, and those of its
+     * schedule, sketches and table, throw {@link UnsupportedOperationException}
+     * from now on, and {@link #getTasks()} is an unmodifiable list. Its tasks,
+     * also those of the schedule's slots, are replaced by read-only copies
+     * whose setters throw too. The task list is built first, so a frozen
+     * result safely published to other threads is never changed again.
+     */
+    void freeze() {
+        if (frozen) return;
+        materialize();
+        if (table != null) {
+            tasks = Collections.unmodifiableList(readOnly(tasks, null));
+        } else {
+            // A slot's task keeps the same copy as its entry in the task list
+            Map<Task, Task> copies = new IdentityHashMap<>();
+            if (tasks != null) {
+                tasks = Collections.unmodifiableList(readOnly(tasks, copies));
+            }
+            slotTasks = readOnly(slotTasks, copies);
+            slotTaskIndexes = null;
         }
-        
-        // Calculate total completion time
-        totalCompletionTime = schedule.isEmpty() ? 0 : 
-            schedule.get(schedule.size() - 1).getEndTime();
-        
-        // Count missed deadlines
-        missedDeadlines = 0;
+        slots.freeze();
+        if (waitingTimes != null) {
+            waitingTimes.freeze();
+            turnaroundTimes.freeze();
+            responseTimes.freeze();
+        }
+        if (table != null) {
+            table.freeze();
+        }
+        frozen = true;
+    }
+    
+    private static List<Task> readOnly(List<Task> tasks, Map<Task, Task> copies) {
+        List<Task> readOnly = new ArrayList<>(tasks.size());
         for (Task task : tasks) {
-            if (task.getDeadline() > 0 && task.getCompletionTime() > task.getDeadline()) {
-                missedDeadlines++;
+            Task copy = copies != null ? copies.get(task) : null;
+            if (copy == null) {
+                copy = task instanceof ReadOnlyTask ? task : new ReadOnlyTask(task);
+                if (copies != null) {
+                    copies.put(task, copy);
+                }
             }
+            readOnly.add(copy);
         }
-        
-        // Calculate CPU utilization
-        int totalBusyTime = 0;
-        for (TimeSlot slot : schedule) {
-            totalBusyTime += slot.getDuration();
+        return readOnly;
+    }
+    
+    /** Whether this result is shared read-only, e.g. from a result cache. */
+    public boolean isReadOnly() { return frozen; }
+    
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new UnsupportedOperationException(algorithmName + " result is read-only");
         }
-        cpuUtilization = totalCompletionTime > 0 ? 
-            (double) totalBusyTime / totalCompletionTime * 100 : 0;
+    }
+    
+    // Builds the Task list of a columnar run on first access
+    private void materialize() {
+        if (table != null && tasks == null) {
+            tasks = table.toTasks();
+        }
+    }
+    
+    private Task taskOf(int slot) {
+        int index = slots.getTaskIndex(slot);
+        if (table != null) {
+            materialize();
+            return tasks.get(index);
+        }
+        return slotTasks.get(index);
+    }
+    
+    // Slot access without materializing TimeSlots, for exporters
+    int getSlotCount() { return slots.size(); }
+    int getSlotStart(int i) { return slots.getStart(i); }
+    int getSlotEnd(int i) { return slots.getEnd(i); }
+    int getSlotCpu(int i) { return slots.getCpu(i); }
+    
+    int getSlotTaskId(int i) {
+        int index = slots.getTaskIndex(i);
+        return table != null ? table.getId(index) : slotTasks.get(index).getId();
+    }
+    
+    /** The compacted slot store behind {@link #getSchedule()}. */
+    public CompactSchedule getCompactSchedule() { return slots; }
+    
+    /** Task running on CPU 0 at {@code time}, or null if the CPU was idle. */
+    public Task getTaskAt(int time) {
+        return getTaskAt(time, 0);
+    }
+    
+    /** Task running on {@code cpuId} at {@code time}, or null if it was idle. O(log n). */
+    public Task getTaskAt(int time, int cpuId) {
+        int slot = slots.slotAt(time, cpuId);
+        return slot >= 0 ? taskOf(slot) : null;
     }
     
     // Getters
     public String getAlgorithmName() { return algorithmName; }
-    public List<Task> getTasks() { return tasks; }
-    public void setTasks(List<Task> tasks) { this.tasks = tasks; }
-    public List<TimeSlot> getSchedule() { return schedule; }
-    public double getAverageWaitingTime() { return averageWaitingTime; }
-    public double getAverageTurnaroundTime() { return averageTurnaroundTime; }
+    public List<Task> getTasks() { materialize(); return tasks; }
+    public void setTasks(List<Task> tasks) { checkNotFrozen(); this.tasks = tasks; }
+    /** Read-only view of the schedule; each access creates a fresh {@link TimeSlot}. */
+    public List<TimeSlot> getSchedule() { return scheduleView; }
+    public double getAverageWaitingTime() { return average(totalWaitingTime); }
+    public double getAverageTurnaroundTime() { return average(totalTurnaroundTime); }
+    public double getAverageResponseTime() { return average(totalResponseTime); }
     public int getTotalCompletionTime() { return totalCompletionTime; }
     public int getMissedDeadlines() { return missedDeadlines; }
-    public double getCpuUtilization() { return cpuUtilization; }
+    public long getCompletedTaskCount() { return completedTasks; }
+    public long getTotalBusyTime() { return totalBusyTime; }
+    /** Counters of the run that produced this result, or null if {@link SchedulerMetrics} was disabled. */
+    public RunMetrics getMetrics() { return metrics; }
+    void setMetrics(RunMetrics metrics) { this.metrics = metrics; }
+    
+    /** Busy time across all processors as a percentage of their combined capacity. */
+    public double getCpuUtilization() {
+        return totalCompletionTime > 0 ?
+            (double) totalBusyTime / ((long) totalCompletionTime * coreBusyTime.length) * 100 : 0;
+    }
+    
+    public int getCpuCount() { return coreBusyTime.length; }
+    
+    /** Utilization of one processor over the whole run, as a percentage. */
+    public double getCoreUtilization(int cpuId) {
+        return totalCompletionTime > 0 ? (double) coreBusyTime[cpuId] / totalCompletionTime * 100 : 0;
+    }
+    
+    public double[] getPerCoreUtilization() {
+        double[] utilization = new double[coreBusyTime.length];
+        for (int cpu = 0; cpu < utilization.length; cpu++) {
+            utilization[cpu] = getCoreUtilization(cpu);
+        }
+        return utilization;
+    }
+    
+    /** Distribution of waiting times (turnaround minus burst) of completed tasks. */
+    public QuantileSketch getWaitingTimeDistribution() { return distribution(waitingTimes); }
+    /** Distribution of turnaround times (completion minus arrival) of completed tasks. */
+    public QuantileSketch getTurnaroundTimeDistribution() { return distribution(turnaroundTimes); }
+    /** Distribution of response times (first start minus arrival) of completed tasks. */
+    public QuantileSketch getResponseTimeDistribution() { return distribution(responseTimes); }
+    
+    private static QuantileSketch distribution(QuantileSketch sketch) {
+        return sketch != null ? sketch : NO_COMPLETIONS;
+    }
+    
+    /** Columnar backing of this result, or null if it was built from Task objects. */
+    public TaskTable getTaskTable() { return table; }
+    
+    /** True if the run was cancelled before it finished; statistics are then empty. */
+    public boolean isCancelled() { return cancelled; }
+    public void markCancelled() { checkNotFrozen(); this.cancelled = true; }
+    
+    private double average(long total) {
+        return completedTasks > 0 ? (double) total / completedTasks : 0;
+    }
+    
+    private final class ScheduleView extends AbstractList<TimeSlot> implements RandomAccess {
+        @Override
+        public TimeSlot get(int index) {
+            if (index < 0 || index >= slots.size()) {
+                throw new IndexOutOfBoundsException("Slot " + index + " of " + slots.size());
+            }
+            return new TimeSlot(taskOf(index), slots.getStart(index), slots.getEnd(index), slots.getCpu(index));
+        }
+        
+        @Override
+        public int size() {
+            return slots.size();
+        }
+    }
 }
-
@@ -0,0 +1,81 @@
+package scheduler;
+
+import java.util.List;
+
+/**
+ * Reusable state for running schedulers many times over the same workload
+ *
+ * Holds the {@link TaskTable}, one {@link SchedulingResult} and the ready
+ * queues of the engine-based schedulers. Each run through
+ * {@link Scheduler#schedule(SchedulingWorkspace)} resets them in place
+ * instead of allocating: task state is restored from the burst column, the
+ * queues are emptied, and the result keeps its slot arrays. Once the arrays
+ * have grown to fit the workload, a run allocates next to nothing.
+ *
+ * The returned result is the workspace's own and is overwritten by the next
+ * run, so copy out what you need first. A workspace is not thread-safe; give
+ * each worker its own.
+ */
+public final class SchedulingWorkspace {
+    private final TaskTable table;
+    private final SchedulingResult result;
+    private HeapReadyQueue heapQueue;
+    private BucketReadyQueue bucketQueue;
+    private TaskRingQueue ringQueue;
+    private MultiLevelReadyQueue multiLevelQueue;
+    
+    public SchedulingWorkspace(List<Task> tasks) {
+        this(TaskTable.fromTasks(tasks));
+    }
+    
+    /** Workspace over {@code table}; the table's run state is owned by the workspace from now on. */
+    public SchedulingWorkspace(TaskTable table) {
+        this.table = table;
+        this.result = new SchedulingResult("", table);
+    }
+    
+    public TaskTable getTaskTable() {
+        return table;
+    }
+    
+    SchedulingResult resetResult(String algorithmName) {
+        result.reset(algorithmName);
+        return result;
+    }
+    
+    /** Empty heap queue ordered by {@code policy}. */
+    ReadyQueue heapQueue(SchedulingPolicy policy) {
+        if (heapQueue == null) {
+            heapQueue = new HeapReadyQueue(policy, table);
+        }
+        heapQueue.reset(policy);
+        return heapQueue;
+    }
+    
+    /** Empty bucket queue ordered by {@code policy}, for keys {@code minKey} to {@code maxKey}. */
+    ReadyQueue bucketQueue(SchedulingPolicy policy, int minKey, int maxKey) {
+        if (bucketQueue == null || bucketQueue.getCapacity() < maxKey - minKey + 1) {
+            bucketQueue = new BucketReadyQueue(policy, table, minKey, maxKey);
+        }
+        bucketQueue.reset(policy, minKey, maxKey);
+        return bucketQueue;
+    }
+    
+    /** Empty FIFO queue with the given time slice ({@code Integer.MAX_VALUE} for none). */
+    ReadyQueue ringQueue(int timeSlice) {
+        if (ringQueue == null) {
+            ringQueue = new TaskRingQueue(Math.min(table.size(), 1024), timeSlice);
+        }
+        ringQueue.reset(timeSlice);
+        return ringQueue;
+    }
+    
+    /** Empty multilevel queue; only reallocated when the level count changes. */
+    ReadyQueue multiLevelQueue(int[] timeSlices, int boostPeriod) {
+        if (multiLevelQueue == null || multiLevelQueue.getLevelCount() != timeSlices.length) {
+            multiLevelQueue = new MultiLevelReadyQueue(table, timeSlices, boostPeriod);
+        }
+        multiLevelQueue.reset(timeSlices, boostPeriod);
+        return multiLevelQueue;
+    }
+}
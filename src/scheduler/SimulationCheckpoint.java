@@ -0,0 +1,97 @@
+package scheduler;
+
+/**
+ * Saved state of a columnar {@link SimulationEngine} run at a decision point
+ *
+ * Holds the loop variables, the ready queue in poll order and the run state
+ * of the live rows: those queued, running or waiting to be requeued. Rows
+ * finished by then keep their times in the table, and rows not yet arrived
+ * have none, so a checkpoint only grows with the ready queue. Together with
+ * the slot prefix of the result it lets {@link IncrementalSchedule} resume a
+ * run here instead of from time zero.
+ */
+final class SimulationCheckpoint {
+    final int time;
+    final int nextRow;
+    final int currentRow;
+    final int expiredRow;
+    final int lastSwitchTime;
+    final long sliceEndTime;
+    final long nextBoostTime;
+    
+    // Live rows: the queue in poll order, then the running and expired rows if any
+    private final int[] rows;
+    private final int queued;
+    private final int[] remainingTimes;
+    private final int[] startTimes;
+    private final int[] rowStates;
+    
+    // Result prefix
+    final int slotCount;
+    final int lastSlotEnd;
+    final long busyTime;
+    
+    SimulationCheckpoint(SchedulingResult result, TaskTable table, ReadyQueue readyQueue, int time, int nextRow,
+                         int currentRow, int expiredRow, int lastSwitchTime, long sliceEndTime, long nextBoostTime) {
+        this.time = time;
+        this.nextRow = nextRow;
+        this.currentRow = currentRow;
+        this.expiredRow = expiredRow;
+        this.lastSwitchTime = lastSwitchTime;
+        this.sliceEndTime = sliceEndTime;
+        this.nextBoostTime = nextBoostTime;
+        
+        queued = readyQueue.size();
+        int live = queued + (currentRow >= 0 ? 1 : 0) + (expiredRow >= 0 ? 1 : 0);
+        rows = new int[live];
+        // Draining and refilling in poll order leaves every queue kind as it was
+        for (int i = 0; i < queued; i++) {
+            rows[i] = readyQueue.poll();
+        }
+        for (int i = 0; i < queued; i++) {
+            readyQueue.offer(rows[i]);
+        }
+        int i = queued;
+        if (currentRow >= 0) rows[i++] = currentRow;
+        if (expiredRow >= 0) rows[i] = expiredRow;
+        
+        remainingTimes = new int[live];
+        startTimes = new int[live];
+        rowStates = new int[live];
+        for (i = 0; i < live; i++) {
+            remainingTimes[i] = table.remainingTimes[rows[i]];
+            startTimes[i] = table.startTimes[rows[i]];
+            rowStates[i] = readyQueue.getRowState(rows[i]);
+        }
+        
+        slotCount = result.getSlotCount();
+        lastSlotEnd = slotCount > 0 ? result.getSlotEnd(slotCount - 1) : 0;
+        busyTime = result.getTotalBusyTime();
+    }
+    
+    /**
+     * Puts {@code table} and an empty {@code readyQueue} in the state of this
+     * checkpoint. Rows before {@link #nextRow} must be the same in
+     * {@code previous}, a table whose run passed this checkpoint.
+     */
+    void restore(TaskTable previous, TaskTable table, ReadyQueue readyQueue) {
+        System.arraycopy(previous.remainingTimes, 0, table.remainingTimes, 0, nextRow);
+        System.arraycopy(previous.startTimes, 0, table.startTimes, 0, nextRow);
+        System.arraycopy(previous.completionTimes, 0, table.completionTimes, 0, nextRow);
+        for (int row = nextRow; row < table.size(); row++) {
+            table.remainingTimes[row] = table.burstTimes[row];
+            table.startTimes[row] = -1;
+            table.completionTimes[row] = -1;
+        }
+        for (int i = 0; i < rows.length; i++) {
+            int row = rows[i];
+            table.remainingTimes[row] = remainingTimes[i];
+            table.startTimes[row] = startTimes[i];
+            table.completionTimes[row] = -1;
+            readyQueue.setRowState(row, rowStates[i]);
+        }
+        for (int i = 0; i < queued; i++) {
+            readyQueue.offer(rows[i]);
+        }
+    }
+}
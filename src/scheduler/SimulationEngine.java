@@ -0,0 +1,368 @@
+package scheduler;
+
+import java.util.*;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Discrete-event simulation core shared by the greedy schedulers
+ * 
+ * Instead of advancing the clock one time unit at a time, the engine jumps
+ * straight to the next decision point: the next arrival or the completion of
+ * the running task, whichever comes first. Whole intervals are executed at
+ * once, so the cost of a run grows with the number of arrivals and
+ * preemptions rather than with the total burst time.
+ * 
+ * Arrivals are pulled lazily from an iterator and results are pushed to a
+ * {@link ScheduleListener}, so a streaming run only ever holds the ready
+ * queue in memory. Batch runs use a columnar variant of the same loop over
+ * a {@link TaskTable}.
+ */
+public final class SimulationEngine {
+    // Decision points between two checks for cancellation
+    private static final int CANCEL_CHECK_INTERVAL = 1024;
+    // Fewest decision points between two checkpoints of a resumable run
+    private static final int CHECKPOINT_INTERVAL = 256;
+    
+    private SimulationEngine() {
+    }
+    
+    public static SchedulingResult simulate(String algorithmName, List<Task> tasks, SchedulingPolicy policy) {
+        return simulate(algorithmName, TaskTable.fromTasks(tasks), policy);
+    }
+    
+    /**
+     * Columnar batch run: the same event loop as the streaming variant, but
+     * over {@link TaskTable} rows and a primitive ready queue supplied by the
+     * policy, so no per-task objects or comparator calls are involved. The
+     * table's run state is overwritten; the returned result is backed by it.
+     */
+    public static SchedulingResult simulate(String algorithmName, TaskTable table, SchedulingPolicy policy) {
+        return simulate(algorithmName, table, policy.createReadyQueue(table), policy.isPreemptive());
+    }
+    
+    /**
+     * Columnar run inside a workspace: its table, result and ready queue are
+     * reset and reused, so nothing is allocated once their arrays have grown
+     * to fit the workload. The result is overwritten by the next run.
+     */
+    public static SchedulingResult simulate(String algorithmName, SchedulingWorkspace workspace,
+                                            SchedulingPolicy policy) {
+        return simulate(algorithmName, workspace, policy.createReadyQueue(workspace), policy.isPreemptive());
+    }
+    
+    public static SchedulingResult simulate(String algorithmName, SchedulingWorkspace workspace,
+                                            ReadyQueue readyQueue, boolean preemptive) {
+        return run(workspace.resetResult(algorithmName), workspace.getTaskTable(), readyQueue, preemptive);
+    }
+    
+    /**
+     * Columnar run with an explicit ready queue. Besides arrivals and
+     * completions, the loop stops at time-slice expiries and periodic boosts
+     * when the queue asks for them. A task whose slice expires is requeued
+     * after tasks arriving at the same instant; if it is picked again right
+     * away its time slot simply continues.
+     */
+    public static SchedulingResult simulate(String algorithmName, TaskTable table, ReadyQueue readyQueue,
+                                            boolean preemptive) {
+        return run(new SchedulingResult(algorithmName, table), table, readyQueue, preemptive);
+    }
+    
+    private static SchedulingResult run(SchedulingResult result, TaskTable table, ReadyQueue readyQueue,
+                                        boolean preemptive) {
+        table.checkTimeRange();
+        table.reset();
+        return run(result, table, readyQueue, preemptive, null, null);
+    }
+    
+    /**
+     * Resumable run for {@link IncrementalSchedule}. Starts from {@code from},
+     * whose state the table, queue and result must already be restored to,
+     * or from time zero on a reset table when null. Appends a checkpoint to
+     * {@code checkpoints} every so often, once per {@link #CHECKPOINT_INTERVAL}
+     * decision points or ready-queue length if longer, so that taking them
+     * costs O(1) amortized per decision point.
+     */
+    static SchedulingResult resume(SchedulingResult result, TaskTable table, ReadyQueue readyQueue,
+                                   boolean preemptive, SimulationCheckpoint from,
+                                   List<SimulationCheckpoint> checkpoints) {
+        table.checkTimeRange();
+        if (from == null) {
+            table.reset();
+        }
+        return run(result, table, readyQueue, preemptive, from, checkpoints);
+    }
+    
+    private static SchedulingResult run(SchedulingResult result, TaskTable table, ReadyQueue readyQueue,
+                                        boolean preemptive, SimulationCheckpoint from,
+                                        List<SimulationCheckpoint> checkpoints) {
+        int n = table.size();
+        int[] arrivalTimes = table.arrivalTimes;
+        int[] remainingTimes = table.remainingTimes;
+        int[] startTimes = table.startTimes;
+        int[] completionTimes = table.completionTimes;
+        int boostPeriod = readyQueue.getBoostPeriod();
+        long nextBoostTime = boostPeriod > 0 ? boostPeriod : Long.MAX_VALUE;
+        
+        int currentTime = 0;
+        int nextRow = 0;
+        int currentRow = -1;
+        int expiredRow = -1; // used up its time slice, waiting to be requeued
+        int lastSwitchTime = 0;
+        long sliceEndTime = Long.MAX_VALUE;
+        int decisions = 0;
+        int sinceCheckpoint = 0;
+        if (from != null) {
+            currentTime = from.time;
+            nextRow = from.nextRow;
+            currentRow = from.currentRow;
+            expiredRow = from.expiredRow;
+            lastSwitchTime = from.lastSwitchTime;
+            sliceEndTime = from.sliceEndTime;
+            nextBoostTime = from.nextBoostTime;
+        }
+        
+        // Instrumentation, kept in locals and only published if enabled
+        long startNanos = System.nanoTime();
+        long preemptions = 0;
+        long contextSwitches = 0;
+        long offers = 0;
+        long polls = 0;
+        int peakDepth = readyQueue.size();
+        long idleGaps = 0;
+        long idleTime = 0;
+        int lastRanRow = Math.max(currentRow, expiredRow);
+        
+        while (nextRow < n || !readyQueue.isEmpty() || currentRow >= 0 || expiredRow >= 0) {
+            if (++decisions % CANCEL_CHECK_INTERVAL == 0 && Thread.currentThread().isInterrupted()) {
+                throw new CancellationException(result.getAlgorithmName() + " interrupted");
+            }
+            
+            if (checkpoints != null && ++sinceCheckpoint >= Math.max(CHECKPOINT_INTERVAL, readyQueue.size())) {
+                checkpoints.add(new SimulationCheckpoint(result, table, readyQueue, currentTime, nextRow,
+                    currentRow, expiredRow, lastSwitchTime, sliceEndTime, nextBoostTime));
+                sinceCheckpoint = 0;
+            }
+            
+            if (currentRow < 0 && expiredRow < 0 && readyQueue.isEmpty() && arrivalTimes[nextRow] > currentTime) {
+                // CPU idle, jump to the next arrival
+                idleGaps++;
+                idleTime += arrivalTimes[nextRow] - currentTime;
+                currentTime = arrivalTimes[nextRow];
+            }
+            
+            if (currentTime >= nextBoostTime) {
+                readyQueue.boost(currentRow >= 0 ? currentRow : expiredRow);
+                nextBoostTime = ((long) currentTime / boostPeriod + 1) * boostPeriod;
+            }
+            
+            // Add all tasks that have arrived, as one batch
+            if (nextRow < n && arrivalTimes[nextRow] <= currentTime) {
+                int firstArrival = nextRow;
+                do {
+                    nextRow++;
+                } while (nextRow < n && arrivalTimes[nextRow] <= currentTime);
+                int bestArrival = readyQueue.offerAll(firstArrival, nextRow);
+                offers += nextRow - firstArrival;
+                // Only the best arrival can take the CPU
+                if (preemptive && currentRow >= 0 && readyQueue.preempts(bestArrival, currentRow)) {
+                    // Save current task progress
+                    if (currentTime > lastSwitchTime) {
+                        result.addTimeSlot(currentRow, lastSwitchTime, currentTime);
+                    }
+                    readyQueue.offer(currentRow);
+                    offers++;
+                    preemptions++;
+                    currentRow = -1;
+                    lastSwitchTime = currentTime;
+                }
+            }
+            
+            if (expiredRow >= 0) {
+                readyQueue.offer(expiredRow);
+                offers++;
+            }
+            
+            // Dispatch the greedy choice if CPU is idle
+            if (currentRow < 0) {
+                peakDepth = Math.max(peakDepth, readyQueue.size());
+                currentRow = readyQueue.poll();
+                polls++;
+                if (currentRow != expiredRow) {
+                    if (expiredRow >= 0) {
+                        preemptions++;
+                        if (currentTime > lastSwitchTime) {
+                            result.addTimeSlot(expiredRow, lastSwitchTime, currentTime);
+                        }
+                    }
+                    lastSwitchTime = currentTime;
+                }
+                if (currentRow != lastRanRow) {
+                    contextSwitches++;
+                    lastRanRow = currentRow;
+                }
+                if (startTimes[currentRow] < 0) {
+                    startTimes[currentRow] = currentTime;
+                }
+                sliceEndTime = (long) currentTime + readyQueue.getTimeSlice(currentRow);
+            }
+            expiredRow = -1;
+            
+            // Run until the next decision point
+            long nextEventTime = Math.min((long) currentTime + remainingTimes[currentRow], sliceEndTime);
+            if (preemptive && nextRow < n) {
+                nextEventTime = Math.min(nextEventTime, arrivalTimes[nextRow]);
+            }
+            nextEventTime = Math.min(nextEventTime, nextBoostTime);
+            remainingTimes[currentRow] = Math.max(0, remainingTimes[currentRow] - (int) (nextEventTime - currentTime));
+            currentTime = (int) nextEventTime;
+            
+            // Check if task completed
+            if (remainingTimes[currentRow] <= 0) {
+                result.addTimeSlot(currentRow, lastSwitchTime, currentTime);
+                completionTimes[currentRow] = currentTime;
+                result.recordCompletion(arrivalTimes[currentRow], table.burstTimes[currentRow],
+                    startTimes[currentRow], currentTime, table.deadlines[currentRow]);
+                currentRow = -1;
+                lastSwitchTime = currentTime;
+            } else if (currentTime >= sliceEndTime) {
+                readyQueue.onTimeSliceExpired(currentRow);
+                expiredRow = currentRow;
+                currentRow = -1;
+            }
+        }
+        
+        if (SchedulerMetrics.isEnabled()) {
+            SchedulerMetrics.record(result.getAlgorithmName(), result, decisions, preemptions, contextSwitches,
+                offers, polls, peakDepth, idleGaps, idleTime, startNanos);
+        }
+        return result;
+    }
+    
+    public static void simulate(Iterator<Task> arrivals, SchedulingPolicy policy, ScheduleListener listener) {
+        // FIFO policies keep a plain deque, the others a heap on primitive keys
+        boolean fifo = policy.isFifo();
+        boolean preemptive = policy.isPreemptive() && !fifo;
+        ArrayDeque<Task> fifoQueue = fifo ? new ArrayDeque<>() : null;
+        KeyedTaskHeap readyHeap = fifo ? null : new KeyedTaskHeap(64);
+        long sequence = 0; // Arrival number, breaking ties on the key
+        long endBound = 0; // Bounds every time of the run, see TaskTable.checkTimeRange()
+        
+        Task nextArrival = arrivals.hasNext() ? arrivals.next() : null;
+        int currentTime = 0;
+        Task currentTask = null;
+        long currentSequence = 0;
+        int lastSwitchTime = 0;
+        int decisions = 0;
+        
+        long startNanos = System.nanoTime();
+        long preemptions = 0;
+        long contextSwitches = 0;
+        long offers = 0;
+        long polls = 0;
+        int peakDepth = 0;
+        long idleGaps = 0;
+        long idleTime = 0;
+        Task lastRan = null;
+        
+        while (nextArrival != null || currentTask != null || (fifo ? !fifoQueue.isEmpty() : !readyHeap.isEmpty())) {
+            if (++decisions % CANCEL_CHECK_INTERVAL == 0 && Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Simulation interrupted");
+            }
+            
+            if (currentTask == null && (fifo ? fifoQueue.isEmpty() : readyHeap.isEmpty())
+                    && nextArrival.getArrivalTime() > currentTime) {
+                // CPU idle, jump to the next arrival
+                idleGaps++;
+                idleTime += nextArrival.getArrivalTime() - currentTime;
+                currentTime = nextArrival.getArrivalTime();
+            }
+            
+            // Add all tasks that have arrived
+            while (nextArrival != null && nextArrival.getArrivalTime() <= currentTime) {
+                Task arriving = nextArrival;
+                endBound = TaskTable.endAfter(endBound, arriving.getId(), arriving.getArrivalTime(),
+                    arriving.getBurstTime());
+                nextArrival = pullNext(arrivals, arriving);
+                offers++;
+                if (fifo) {
+                    fifoQueue.offer(arriving);
+                    continue;
+                }
+                
+                int key = policy.getReadyQueueKey(arriving);
+                long arrivingSequence = sequence++;
+                if (preemptive && currentTask != null) {
+                    // The running task's key may have changed while it ran, as SRTF's does
+                    int currentKey = policy.getReadyQueueKey(currentTask);
+                    if (KeyedTaskHeap.precedes(key, arrivingSequence, currentKey, currentSequence)) {
+                        // Save current task progress
+                        if (currentTime > lastSwitchTime) {
+                            listener.onTimeSlot(new TimeSlot(currentTask, lastSwitchTime, currentTime));
+                        }
+                        readyHeap.offer(currentTask, currentKey, currentSequence);
+                        offers++;
+                        preemptions++;
+                        currentTask = null;
+                    }
+                }
+                readyHeap.offer(arriving, key, arrivingSequence);
+            }
+            
+            // Dispatch the greedy choice if CPU is idle
+            if (currentTask == null) {
+                if (fifo) {
+                    peakDepth = Math.max(peakDepth, fifoQueue.size());
+                    currentTask = fifoQueue.poll();
+                } else {
+                    peakDepth = Math.max(peakDepth, readyHeap.size());
+                    currentSequence = readyHeap.peekSequence();
+                    currentTask = readyHeap.poll();
+                }
+                polls++;
+                if (currentTask != lastRan) {
+                    contextSwitches++;
+                    lastRan = currentTask;
+                }
+                if (currentTask.getStartTime() < 0) {
+                    currentTask.setStartTime(currentTime);
+                }
+                lastSwitchTime = currentTime;
+            }
+            
+            // Run until the next decision point
+            int nextEventTime = currentTime + currentTask.getRemainingTime();
+            if (preemptive && nextArrival != null) {
+                nextEventTime = Math.min(nextEventTime, nextArrival.getArrivalTime());
+            }
+            currentTask.execute(nextEventTime - currentTime);
+            currentTime = nextEventTime;
+            
+            // Check if task completed
+            if (currentTask.isCompleted()) {
+                listener.onTimeSlot(new TimeSlot(currentTask, lastSwitchTime, currentTime));
+                currentTask.setCompletionTime(currentTime);
+                listener.onTaskCompleted(currentTask);
+                currentTask = null;
+                lastSwitchTime = currentTime;
+            }
+        }
+        
+        if (SchedulerMetrics.isEnabled()) {
+            String name = policy instanceof Scheduler ? ((Scheduler) policy).getAlgorithmName() : "Streaming run";
+            SchedulerMetrics.record(name, listener instanceof SchedulingResult ? (SchedulingResult) listener : null,
+                decisions, preemptions, contextSwitches, offers, polls, peakDepth, idleGaps, idleTime, startNanos);
+        }
+    }
+    
+    private static Task pullNext(Iterator<Task> arrivals, Task previous) {
+        if (!arrivals.hasNext()) {
+            return null;
+        }
+        Task next = arrivals.next();
+        if (next.getArrivalTime() < previous.getArrivalTime()) {
+            throw new IllegalArgumentException(
+                "Arrivals must be ordered by arrival time: " + next + " after " + previous);
+        }
+        return next;
+    }
+}
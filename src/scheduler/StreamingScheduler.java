@@ -0,0 +1,20 @@
+package scheduler;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Scheduler that can consume its workload incrementally
+ * 
+ * Tasks must be supplied in non-decreasing arrival order. They are consumed
+ * as the simulated clock reaches them and their run state (remaining time,
+ * start and completion time) is updated in place, so callers that want to
+ * keep their input untouched should pass copies.
+ */
+public interface StreamingScheduler extends Scheduler {
+    void schedule(Iterator<Task> arrivals, ScheduleListener listener);
+    
+    default void schedule(Stream<Task> arrivals, ScheduleListener listener) {
+        schedule(arrivals.iterator(), listener);
+    }
+}
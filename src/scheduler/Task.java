@@ -4,15 +4,22 @@ package scheduler;
  * Represents a CPU task/process with scheduling properties
  * Used in the CPU Task Scheduling system to model real-world operating system processes
  * Each task competes for CPU resources and has properties like execution time, priority, and deadlines
+ * 
+ * The inputs (id, name, arrival, burst, deadline, priority) are final, so a
+ * task list can be shared between threads and runs. Batch schedulers only
+ * read them into a {@link TaskTable}, which keeps the run state per run; the
+ * mutable fields here hold the outcome of a run on tasks handed out by a
+ * result, or the progress of a streaming run. A result shared through a
+ * cache hands out read-only copies instead, whose setters throw.
  */
 public class Task {
-    private int id;
-    private String name;
-    private int arrivalTime;
-    private int burstTime;
+    private final int id;
+    private final String name;
+    private final int arrivalTime;
+    private final int burstTime;
     private int remainingTime;
-    private int deadline;
-    private int priority; // Lower number = higher priority
+    private final int deadline;
+    private final int priority; // Lower number = higher priority
     private int startTime;
     private int completionTime;
     private int waitingTime;
@@ -22,9 +29,10 @@ public class Task {
         this(id, name, arrivalTime, burstTime, -1, 0);
     }
     
+    /** A null name, as for a task loaded without one, becomes "T" followed by the id. */
     public Task(int id, String name, int arrivalTime, int burstTime, int deadline, int priority) {
         this.id = id;
-        this.name = name;
+        this.name = name != null ? name : "T" + id;
         this.arrivalTime = arrivalTime;
         this.burstTime = burstTime;
         this.remainingTime = burstTime;
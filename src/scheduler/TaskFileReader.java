@@ -0,0 +1,613 @@
+package scheduler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Streaming loader for CSV and JSON Lines task files
+ *
+ * Input is read through a {@link FileChannel} into a reusable byte buffer and
+ * parsed in place: numbers are decoded straight from the bytes, and repeated
+ * task names are looked up by their bytes in a small dictionary, so a row
+ * normally costs no allocation at all. Rows go into growable primitive
+ * columns and end up in a {@link TaskTable}.
+ *
+ * CSV files may start with a header naming the columns (id, name, arrival,
+ * burst, deadline, priority, in any order); without one the columns are
+ * taken in that order. JSON Lines files hold one flat object per line with
+ * the same keys ({@code arrivalTime} and {@code burstTime} are accepted as
+ * well). A missing or "-" deadline means none; blank lines and lines
+ * starting with '#' are skipped.
+ */
+public final class TaskFileReader {
+    private static final int BUFFER_SIZE = 1 << 20;
+    
+    private static final int ID = 0;
+    private static final int NAME = 1;
+    private static final int ARRIVAL = 2;
+    private static final int BURST = 3;
+    private static final int DEADLINE = 4;
+    private static final int PRIORITY = 5;
+    private static final int[] DEFAULT_COLUMNS = {ID, NAME, ARRIVAL, BURST, DEADLINE, PRIORITY};
+    
+    private final FileChannel channel;
+    private final Path path;
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+    private long lineNumber;
+    private byte[] scratch = new byte[256];
+    private final NameDictionary dictionary = new NameDictionary();
+    
+    // Parsed columns
+    private int count;
+    private int[] ids = new int[1024];
+    private String[] names = new String[1024];
+    private int[] arrivalTimes = new int[1024];
+    private int[] burstTimes = new int[1024];
+    private int[] deadlines = new int[1024];
+    private int[] priorities = new int[1024];
+    
+    // Fields of the row being parsed
+    private int id;
+    private String name;
+    private int arrivalTime;
+    private int burstTime;
+    private int deadline;
+    private int priority;
+    private boolean hasArrival;
+    private boolean hasBurst;
+    
+    private TaskFileReader(FileChannel channel, Path path) {
+        this.channel = channel;
+        this.path = path;
+    }
+    
+    /**
+     * Loads a task file, choosing the format from the extension:
+     * {@code .csv}, {@code .jsonl}/{@code .ndjson}, or a binary {@code .trace}.
+     */
+    public static TaskTable read(Path path) throws IOException {
+        String file = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (file.endsWith(".trace")) {
+            return TaskTrace.open(path).toTaskTable();
+        }
+        boolean json = file.endsWith(".jsonl") || file.endsWith(".ndjson");
+        if (!json && !file.endsWith(".csv")) {
+            throw new IOException("Unsupported task file (expected .csv, .jsonl or .trace): " + path);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            TaskFileReader reader = new TaskFileReader(channel, path);
+            if (json) {
+                reader.readJsonLines();
+            } else {
+                reader.readCsv();
+            }
+            return TaskTable.fromColumns(reader.count, reader.ids, reader.names, reader.arrivalTimes,
+                reader.burstTimes, reader.deadlines, reader.priorities);
+        }
+    }
+    
+    // ----- CSV -----
+    
+    private void readCsv() throws IOException {
+        int[] columns = null;
+        int end;
+        while ((end = nextLineEnd()) >= 0) {
+            int start = position;
+            int lineEnd = trimLineEnd(start, end);
+            position = end + 1;
+            lineNumber++;
+            if (isSkippable(start, lineEnd)) continue;
+            
+            if (columns == null) {
+                if (!startsWithNumber(start, lineEnd)) {
+                    columns = parseCsvHeader(start, lineEnd);
+                    continue;
+                }
+                columns = DEFAULT_COLUMNS;
+            }
+            beginRow();
+            int fieldStart = start;
+            for (int column = 0; fieldStart <= lineEnd; column++) {
+                int fieldEnd = csvFieldEnd(fieldStart, lineEnd);
+                int field = column < columns.length ? columns[column] : -1;
+                if (field == NAME) {
+                    name = csvName(fieldStart, fieldEnd);
+                } else if (field >= 0) {
+                    setNumber(field, fieldStart, fieldEnd);
+                }
+                fieldStart = fieldEnd + 1;
+            }
+            endRow();
+        }
+    }
+    
+    private int[] parseCsvHeader(int start, int end) throws IOException {
+        int[] columns = new int[16];
+        int columnCount = 0;
+        boolean hasArrivalColumn = false;
+        boolean hasBurstColumn = false;
+        for (int fieldStart = start; fieldStart <= end; ) {
+            int fieldEnd = csvFieldEnd(fieldStart, end);
+            String header = new String(buffer, fieldStart, fieldEnd - fieldStart, StandardCharsets.UTF_8)
+                .trim().replace("\"", "").toLowerCase(Locale.ROOT);
+            int field = fieldOf(header);
+            hasArrivalColumn |= field == ARRIVAL;
+            hasBurstColumn |= field == BURST;
+            if (columnCount == columns.length) {
+                columns = Arrays.copyOf(columns, columnCount * 2);
+            }
+            columns[columnCount++] = field;
+            fieldStart = fieldEnd + 1;
+        }
+        if (!hasArrivalColumn || !hasBurstColumn) {
+            throw error("header must name arrival and burst columns");
+        }
+        return Arrays.copyOf(columns, columnCount);
+    }
+    
+    private static int fieldOf(String header) {
+        switch (header.replace("_", "")) {
+            case "id":
+                return ID;
+            case "name":
+                return NAME;
+            case "arrival":
+            case "arrivaltime":
+                return ARRIVAL;
+            case "burst":
+            case "bursttime":
+                return BURST;
+            case "deadline":
+                return DEADLINE;
+            case "priority":
+                return PRIORITY;
+            default:
+                return -1; // ignored column
+        }
+    }
+    
+    // Index of the comma (or line end) closing the field at start
+    private int csvFieldEnd(int start, int end) {
+        int i = start;
+        while (i < end && buffer[i] == ' ') i++;
+        if (i < end && buffer[i] == '"') {
+            for (i++; i < end; i++) {
+                if (buffer[i] == '"') {
+                    if (i + 1 < end && buffer[i + 1] == '"') {
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+            }
+        }
+        while (i < end && buffer[i] != ',') i++;
+        return i;
+    }
+    
+    private String csvName(int start, int end) throws IOException {
+        while (start < end && buffer[start] == ' ') start++;
+        while (end > start && buffer[end - 1] == ' ') end--;
+        if (start < end && buffer[start] == '"') {
+            // Unescape doubled quotes into scratch
+            int length = 0;
+            for (int i = start + 1; i < end; i++) {
+                if (buffer[i] == '"') {
+                    if (i + 1 < end && buffer[i + 1] == '"') {
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                scratch = ensureCapacity(scratch, length + 1);
+                scratch[length++] = buffer[i];
+            }
+            return dictionary.lookup(scratch, 0, length);
+        }
+        return dictionary.lookup(buffer, start, end - start);
+    }
+    
+    // ----- JSON Lines -----
+    
+    private void readJsonLines() throws IOException {
+        int end;
+        while ((end = nextLineEnd()) >= 0) {
+            int start = position;
+            int lineEnd = trimLineEnd(start, end);
+            position = end + 1;
+            lineNumber++;
+            if (isSkippable(start, lineEnd)) continue;
+            
+            beginRow();
+            int i = skipSpaces(start, lineEnd);
+            if (i == lineEnd || buffer[i] != '{') {
+                throw error("expected a JSON object");
+            }
+            i = skipSpaces(i + 1, lineEnd);
+            if (i < lineEnd && buffer[i] == '}') {
+                i++;
+            } else {
+                while (true) {
+                    if (i == lineEnd || buffer[i] != '"') {
+                        throw error("expected a key");
+                    }
+                    int keyEnd = jsonStringEnd(i + 1, lineEnd);
+                    int field = jsonField(i + 1, keyEnd);
+                    i = skipSpaces(keyEnd + 1, lineEnd);
+                    if (i == lineEnd || buffer[i] != ':') {
+                        throw error("expected ':'");
+                    }
+                    i = skipSpaces(i + 1, lineEnd);
+                    i = skipSpaces(parseJsonValue(field, i, lineEnd), lineEnd);
+                    if (i < lineEnd && buffer[i] == ',') {
+                        i = skipSpaces(i + 1, lineEnd);
+                    } else if (i < lineEnd && buffer[i] == '}') {
+                        i++;
+                        break;
+                    } else {
+                        throw error("expected ',' or '}'");
+                    }
+                }
+            }
+            if (skipSpaces(i, lineEnd) != lineEnd) {
+                throw error("unexpected text after object");
+            }
+            endRow();
+        }
+    }
+    
+    private int jsonField(int start, int end) {
+        if (keyEquals(start, end, "id")) return ID;
+        if (keyEquals(start, end, "name")) return NAME;
+        if (keyEquals(start, end, "arrival") || keyEquals(start, end, "arrivalTime")) return ARRIVAL;
+        if (keyEquals(start, end, "burst") || keyEquals(start, end, "burstTime")) return BURST;
+        if (keyEquals(start, end, "deadline")) return DEADLINE;
+        if (keyEquals(start, end, "priority")) return PRIORITY;
+        return -1;
+    }
+    
+    private boolean keyEquals(int start, int end, String key) {
+        if (end - start != key.length()) return false;
+        for (int i = 0; i < key.length(); i++) {
+            if (buffer[start + i] != key.charAt(i)) return false;
+        }
+        return true;
+    }
+    
+    // Parses one value into field (or skips it) and returns the index after it
+    private int parseJsonValue(int field, int start, int end) throws IOException {
+        if (start == end) {
+            throw error("missing value");
+        }
+        byte first = buffer[start];
+        if (first == '"') {
+            int valueEnd = jsonStringEnd(start + 1, end);
+            if (field == NAME) {
+                name = jsonString(start + 1, valueEnd);
+            } else if (field >= 0) {
+                setNumber(field, start + 1, valueEnd); // numbers given as strings, e.g. "-"
+            }
+            return valueEnd + 1;
+        }
+        if (first == '{' || first == '[') {
+            throw error("nested values are not supported");
+        }
+        int valueEnd = start;
+        while (valueEnd < end && buffer[valueEnd] != ',' && buffer[valueEnd] != '}'
+                && buffer[valueEnd] != ' ') {
+            valueEnd++;
+        }
+        if (keyEquals(start, valueEnd, "null")) {
+            return valueEnd; // keeps the field's default
+        }
+        if (field == NAME) {
+            name = dictionary.lookup(buffer, start, valueEnd - start);
+        } else if (field >= 0) {
+            setNumber(field, start, valueEnd);
+        }
+        return valueEnd;
+    }
+    
+    // Index of the closing quote of a string whose contents start at start
+    private int jsonStringEnd(int start, int end) throws IOException {
+        for (int i = start; i < end; i++) {
+            if (buffer[i] == '\\') {
+                i++;
+            } else if (buffer[i] == '"') {
+                return i;
+            }
+        }
+        throw error("unterminated string");
+    }
+    
+    private String jsonString(int start, int end) throws IOException {
+        int i = start;
+        while (i < end && buffer[i] != '\\') i++;
+        if (i == end) {
+            return dictionary.lookup(buffer, start, end - start);
+        }
+        // Decode escapes into scratch
+        int length = 0;
+        for (i = start; i < end; i++) {
+            scratch = ensureCapacity(scratch, length + 4);
+            byte b = buffer[i];
+            if (b != '\\') {
+                scratch[length++] = b;
+                continue;
+            }
+            byte escape = buffer[++i];
+            switch (escape) {
+                case 'n': scratch[length++] = '\n'; break;
+                case 't': scratch[length++] = '\t'; break;
+                case 'r': scratch[length++] = '\r'; break;
+                case 'b': scratch[length++] = '\b'; break;
+                case 'f': scratch[length++] = '\f'; break;
+                case 'u':
+                    if (i + 4 >= end) {
+                        throw error("bad \\u escape");
+                    }
+                    int c = hexEscape(i + 1);
+                    i += 4;
+                    // A surrogate pair, as JSON writes characters outside the BMP, is one code point
+                    if (Character.isHighSurrogate((char) c) && i + 6 < end
+                            && buffer[i + 1] == '\\' && buffer[i + 2] == 'u') {
+                        int low = hexEscape(i + 3);
+                        if (Character.isLowSurrogate((char) low)) {
+                            c = Character.toCodePoint((char) c, (char) low);
+                            i += 6;
+                        }
+                    }
+                    byte[] encoded = new String(Character.toChars(c)).getBytes(StandardCharsets.UTF_8);
+                    System.arraycopy(encoded, 0, scratch, length, encoded.length);
+                    length += encoded.length;
+                    break;
+                default:
+                    scratch[length++] = escape; // \" \\ \/
+            }
+        }
+        return dictionary.lookup(scratch, 0, length);
+    }
+    
+    // ----- Rows and numbers -----
+    
+    private void beginRow() {
+        id = count + 1;
+        name = null;
+        deadline = -1;
+        priority = 0;
+        hasArrival = false;
+        hasBurst = false;
+    }
+    
+    private void endRow() throws IOException {
+        if (!hasArrival || !hasBurst) {
+            throw error("arrival and burst are required");
+        }
+        if (burstTime <= 0) {
+            throw error("burst time must be positive");
+        }
+        if (count == ids.length) {
+            int capacity = count * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            names = Arrays.copyOf(names, capacity);
+            arrivalTimes = Arrays.copyOf(arrivalTimes, capacity);
+            burstTimes = Arrays.copyOf(burstTimes, capacity);
+            deadlines = Arrays.copyOf(deadlines, capacity);
+            priorities = Arrays.copyOf(priorities, capacity);
+        }
+        ids[count] = id;
+        names[count] = name; // null without a name column; a Task built from the row names it
+        arrivalTimes[count] = arrivalTime;
+        burstTimes[count] = burstTime;
+        deadlines[count] = deadline;
+        priorities[count] = priority;
+        count++;
+    }
+    
+    private void setNumber(int field, int start, int end) throws IOException {
+        while (start < end && buffer[start] == ' ') start++;
+        while (end > start && buffer[end - 1] == ' ') end--;
+        if (end - start >= 2 && buffer[start] == '"' && buffer[end - 1] == '"') {
+            // Quoted CSV field, e.g. "5"
+            start++;
+            end--;
+            while (start < end && buffer[start] == ' ') start++;
+            while (end > start && buffer[end - 1] == ' ') end--;
+        }
+        if (start == end || (end - start == 1 && buffer[start] == '-')) {
+            return; // empty or "-": keep the default
+        }
+        int value = parseInt(start, end);
+        switch (field) {
+            case ID: id = value; break;
+            case ARRIVAL: arrivalTime = value; hasArrival = true; break;
+            case BURST: burstTime = value; hasBurst = true; break;
+            case DEADLINE: deadline = value; break;
+            case PRIORITY: priority = value; break;
+            default: break;
+        }
+    }
+    
+    private int parseInt(int start, int end) throws IOException {
+        boolean negative = buffer[start] == '-';
+        int i = negative || buffer[start] == '+' ? start + 1 : start;
+        if (i == end) {
+            throw error("bad number");
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw error("bad number '" + new String(buffer, start, end - start, StandardCharsets.UTF_8) + "'");
+            }
+            value = value * 10 + digit;
+            if (value > Integer.MAX_VALUE + 1L) {
+                throw error("number out of range");
+            }
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw error("number out of range");
+        }
+        return (int) value;
+    }
+    
+    // ----- Buffering -----
+    
+    /**
+     * Makes sure a whole line starting at {@code position} is buffered and
+     * returns the index of its terminating newline (or the end of input for
+     * an unterminated last line), or -1 once the input is exhausted.
+     */
+    private int nextLineEnd() throws IOException {
+        int scanned = 0; // bytes after position already searched for a newline
+        while (true) {
+            for (int i = position + scanned; i < limit; i++) {
+                if (buffer[i] == '\n') return i;
+            }
+            if (endOfInput) {
+                return position < limit ? limit : -1;
+            }
+            scanned = limit - position;
+            if (position > 0) {
+                System.arraycopy(buffer, position, buffer, 0, scanned);
+                limit = scanned;
+                position = 0;
+            } else if (limit == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2); // line longer than the buffer
+            }
+            int read = channel.read(ByteBuffer.wrap(buffer, limit, buffer.length - limit));
+            if (read < 0) {
+                endOfInput = true;
+            } else {
+                limit += read;
+            }
+        }
+    }
+    
+    private int trimLineEnd(int start, int end) {
+        while (end > start && (buffer[end - 1] == '\r' || buffer[end - 1] == ' ')) end--;
+        return end;
+    }
+    
+    private boolean isSkippable(int start, int end) {
+        int i = skipSpaces(start, end);
+        return i == end || buffer[i] == '#';
+    }
+    
+    private boolean startsWithNumber(int start, int end) {
+        int i = skipSpaces(start, end);
+        if (i < end && (buffer[i] == '-' || buffer[i] == '+')) i++;
+        return i < end && buffer[i] >= '0' && buffer[i] <= '9';
+    }
+    
+    private int skipSpaces(int start, int end) {
+        while (start < end && (buffer[start] == ' ' || buffer[start] == '\t')) start++;
+        return start;
+    }
+    
+    // Value of the four hex digits of a \\u escape starting at buffer[at]
+    private int hexEscape(int at) throws IOException {
+        int value = 0;
+        for (int i = at; i < at + 4; i++) {
+            int digit = Character.digit(buffer[i], 16);
+            if (digit < 0) {
+                throw error("bad \\u escape");
+            }
+            value = value << 4 | digit;
+        }
+        return value;
+    }
+    
+    private static byte[] ensureCapacity(byte[] bytes, int capacity) {
+        return capacity <= bytes.length ? bytes : Arrays.copyOf(bytes, Math.max(capacity, bytes.length * 2));
+    }
+    
+    private IOException error(String message) {
+        return new IOException(path + ":" + lineNumber + ": " + message);
+    }
+    
+    /**
+     * Interns names by their UTF-8 bytes so a repeated name is decoded once.
+     * Stops growing after MAX_ENTRIES distinct names; traces with unique
+     * per-task names then just decode each one.
+     */
+    private static final class NameDictionary {
+        private static final int MAX_ENTRIES = 1 << 16;
+        
+        private int[] slots = new int[256]; // entry index + 1, 0 = empty
+        private byte[][] keys = new byte[128][];
+        private String[] values = new String[128];
+        private int[] hashes = new int[128];
+        private int size;
+        
+        String lookup(byte[] bytes, int offset, int length) {
+            int hash = 1;
+            for (int i = offset; i < offset + length; i++) {
+                hash = 31 * hash + bytes[i];
+            }
+            int mask = slots.length - 1;
+            for (int slot = mix(hash) & mask; ; slot = (slot + 1) & mask) {
+                int entry = slots[slot] - 1;
+                if (entry < 0) {
+                    String value = new String(bytes, offset, length, StandardCharsets.UTF_8);
+                    if (size < MAX_ENTRIES) {
+                        add(slot, hash, Arrays.copyOfRange(bytes, offset, offset + length), value);
+                    }
+                    return value;
+                }
+                if (hashes[entry] == hash && equals(keys[entry], bytes, offset, length)) {
+                    return values[entry];
+                }
+            }
+        }
+        
+        private void add(int slot, int hash, byte[] key, String value) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+                hashes = Arrays.copyOf(hashes, size * 2);
+            }
+            keys[size] = key;
+            values[size] = value;
+            hashes[size] = hash;
+            slots[slot] = ++size;
+            if (size * 2 > slots.length) {
+                rehash();
+            }
+        }
+        
+        private void rehash() {
+            slots = new int[slots.length * 2];
+            int mask = slots.length - 1;
+            for (int entry = 0; entry < size; entry++) {
+                int slot = mix(hashes[entry]) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = entry + 1;
+            }
+        }
+        
+        private static int mix(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+        
+        private static boolean equals(byte[] key, byte[] bytes, int offset, int length) {
+            if (key.length != length) return false;
+            for (int i = 0; i < length; i++) {
+                if (key[i] != bytes[offset + i]) return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package scheduler;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of {@link TaskTable} rows keyed by a packed long
+ * 
+ * The high 32 bits hold the policy key (burst, remaining time, deadline,
+ * priority...) and the low 32 bits the row. Because rows are in arrival
+ * order, ties on the key fall back to arrival time and then input order,
+ * and a whole comparison is a single primitive {@code long} compare.
+ */
+public final class TaskHeap {
+    private long[] heap;
+    private int size;
+    
+    public TaskHeap(int initialCapacity) {
+        heap = new long[Math.max(1, initialCapacity)];
+    }
+    
+    public static long packKey(int key, int row) {
+        return ((long) key << 32) | (row & 0xFFFFFFFFL);
+    }
+    
+    public static int rowOf(long packedKey) {
+        return (int) packedKey;
+    }
+    
+    public boolean isEmpty() { return size == 0; }
+    public int size() { return size; }
+    
+    public void clear() {
+        size = 0;
+    }
+    
+    public void offer(long packedKey) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        // Sift up
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            long p = heap[parent];
+            if (packedKey >= p) {
+                break;
+            }
+            heap[i] = p;
+            i = parent;
+        }
+        heap[i] = packedKey;
+    }
+    
+    /**
+     * Appends a key without restoring heap order, for building a heap in
+     * bulk; {@link #heapify()} must follow before the heap is used again.
+     */
+    public void addUnordered(long packedKey) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        heap[size++] = packedKey;
+    }
+    
+    /** Restores heap order after {@link #addUnordered(long)} in O(size) (Floyd's construction). */
+    public void heapify() {
+        for (int i = (size >>> 1) - 1; i >= 0; i--) {
+            siftDown(i, heap[i]);
+        }
+    }
+    
+    public long peek() {
+        return heap[0];
+    }
+    
+    /** Removes the smallest key and returns its row; the heap must not be empty. */
+    public int pollRow() {
+        long top = heap[0];
+        long last = heap[--size];
+        siftDown(0, last);
+        return rowOf(top);
+    }
+    
+    private void siftDown(int i, long key) {
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            long c = heap[child];
+            int right = child + 1;
+            if (right < size && heap[right] < c) {
+                child = right;
+                c = heap[right];
+            }
+            if (key <= c) {
+                break;
+            }
+            heap[i] = c;
+            i = child;
+        }
+        heap[i] = key;
+    }
+}
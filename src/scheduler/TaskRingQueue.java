@@ -0,0 +1,89 @@
+package scheduler;
+
+/**
+ * FIFO ready queue of {@link TaskTable} rows in a growable int ring buffer
+ * 
+ * Offer and poll are O(1) with no per-element allocation. Optionally gives
+ * every task the same fixed time slice, which makes it a Round Robin queue.
+ */
+public final class TaskRingQueue implements ReadyQueue {
+    private int[] ring;
+    private int head;
+    private int size;
+    private int timeSlice;
+    
+    public TaskRingQueue(int initialCapacity) {
+        this(initialCapacity, Integer.MAX_VALUE);
+    }
+    
+    public TaskRingQueue(int initialCapacity, int timeSlice) {
+        // Power-of-two capacity so indices wrap with a mask
+        ring = new int[Integer.highestOneBit(Math.max(2, initialCapacity - 1) << 1)];
+        this.timeSlice = timeSlice;
+    }
+    
+    @Override
+    public void offer(int row) {
+        if (size == ring.length) {
+            grow();
+        }
+        ring[(head + size) & (ring.length - 1)] = row;
+        size++;
+    }
+    
+    @Override
+    public int offerAll(int fromRow, int toRow) {
+        for (int row = fromRow; row < toRow; row++) {
+            offer(row);
+        }
+        return fromRow; // FIFO: the earliest row runs first
+    }
+    
+    @Override
+    public int poll() {
+        int row = ring[head];
+        head = (head + 1) & (ring.length - 1);
+        size--;
+        return row;
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    @Override
+    public int size() {
+        return size;
+    }
+    
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+    
+    // Empties the queue for reuse with another time slice
+    void reset(int timeSlice) {
+        clear();
+        this.timeSlice = timeSlice;
+    }
+    
+    @Override
+    public boolean preempts(int arrivingRow, int runningRow) {
+        return false;
+    }
+    
+    @Override
+    public int getTimeSlice(int row) {
+        return timeSlice;
+    }
+    
+    private void grow() {
+        int[] larger = new int[ring.length * 2];
+        int firstPart = Math.min(size, ring.length - head);
+        System.arraycopy(ring, head, larger, 0, firstPart);
+        System.arraycopy(ring, 0, larger, firstPart, size - firstPart);
+        ring = larger;
+        head = 0;
+    }
+}
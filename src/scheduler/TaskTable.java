@@ -0,0 +1,301 @@
+package scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Columnar (struct-of-arrays) task store used by the simulation hot loop
+ * 
+ * Each task is a row; its inputs and run state live in parallel primitive
+ * arrays instead of one object per task. Rows are kept in arrival order
+ * (ties in input order), so a row number doubles as a stable arrival rank.
+ * {@link Task} objects are only built on demand through {@link #toTask(int)}.
+ */
+public final class TaskTable {
+    private final int size;
+    private final int[] ids;
+    private final String[] names;
+    final int[] arrivalTimes;
+    final int[] burstTimes;
+    final int[] deadlines;
+    final int[] priorities;
+    private int[] effectiveDeadlines; // built on first use
+    
+    // Per-run state
+    final int[] remainingTimes;
+    final int[] startTimes;
+    final int[] completionTimes;
+    private boolean frozen;
+    
+    private TaskTable(int size) {
+        this.size = size;
+        this.ids = new int[size];
+        this.names = new String[size];
+        this.arrivalTimes = new int[size];
+        this.burstTimes = new int[size];
+        this.deadlines = new int[size];
+        this.priorities = new int[size];
+        this.remainingTimes = new int[size];
+        this.startTimes = new int[size];
+        this.completionTimes = new int[size];
+    }
+    
+    // Shares the input columns of another table, with fresh run state
+    private TaskTable(TaskTable inputs) {
+        this.size = inputs.size;
+        this.ids = inputs.ids;
+        this.names = inputs.names;
+        this.arrivalTimes = inputs.arrivalTimes;
+        this.burstTimes = inputs.burstTimes;
+        this.deadlines = inputs.deadlines;
+        this.priorities = inputs.priorities;
+        this.remainingTimes = new int[size];
+        this.startTimes = new int[size];
+        this.completionTimes = new int[size];
+        reset();
+    }
+    
+    /**
+     * Builds a table from the given tasks, sorted by arrival time.
+     * Only the task inputs are copied; run state starts fresh.
+     */
+    public static TaskTable fromTasks(List<Task> tasks) {
+        int n = tasks.size();
+        
+        // Stable sort by arrival: pack (arrival, input index) and sort primitives
+        long[] order = new long[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = ((long) tasks.get(i).getArrivalTime() << 32) | i;
+        }
+        Arrays.sort(order);
+        
+        TaskTable table = new TaskTable(n);
+        for (int row = 0; row < n; row++) {
+            Task task = tasks.get((int) order[row]);
+            table.ids[row] = task.getId();
+            table.names[row] = task.getName();
+            table.arrivalTimes[row] = task.getArrivalTime();
+            table.burstTimes[row] = task.getBurstTime();
+            table.deadlines[row] = task.getDeadline();
+            table.priorities[row] = task.getPriority();
+        }
+        table.reset();
+        return table;
+    }
+    
+    /**
+     * Builds a table from the first {@code n} entries of raw input columns,
+     * sorted by arrival time the same way as {@link #fromTasks(List)}.
+     */
+    static TaskTable fromColumns(int n, int[] ids, String[] names, int[] arrivalTimes, int[] burstTimes,
+                                 int[] deadlines, int[] priorities) {
+        boolean ordered = true;
+        for (int i = 1; i < n && ordered; i++) {
+            ordered = arrivalTimes[i - 1] <= arrivalTimes[i];
+        }
+        long[] order = null;
+        if (!ordered) {
+            order = new long[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = ((long) arrivalTimes[i] << 32) | i;
+            }
+            Arrays.sort(order);
+        }
+        
+        TaskTable table = new TaskTable(n);
+        for (int row = 0; row < n; row++) {
+            int i = order != null ? (int) order[row] : row;
+            table.setRow(row, ids[i], names[i], arrivalTimes[i], burstTimes[i], deadlines[i], priorities[i]);
+        }
+        table.reset();
+        return table;
+    }
+    
+    /**
+     * Empty table for loaders that fill rows straight from raw columns with
+     * {@link #setRow}. Rows must be filled in arrival order, and
+     * {@link #reset()} called once they are all set.
+     */
+    static TaskTable allocate(int size) {
+        return new TaskTable(size);
+    }
+    
+    void setRow(int row, int id, String name, int arrivalTime, int burstTime, int deadline, int priority) {
+        ids[row] = id;
+        names[row] = name;
+        arrivalTimes[row] = arrivalTime;
+        burstTimes[row] = burstTime;
+        deadlines[row] = deadline;
+        priorities[row] = priority;
+    }
+    
+    /**
+     * Returns a table over the same input columns with its own run state.
+     * The inputs are never written during a run, so any number of such
+     * tables can be scheduled concurrently without copying the tasks.
+     */
+    public TaskTable withSharedInputs() {
+        return new TaskTable(this);
+    }
+    
+    /** Copy of this table's run state over the same input columns. */
+    TaskTable copy() {
+        TaskTable table = new TaskTable(this);
+        System.arraycopy(remainingTimes, 0, table.remainingTimes, 0, size);
+        System.arraycopy(startTimes, 0, table.startTimes, 0, size);
+        System.arraycopy(completionTimes, 0, table.completionTimes, 0, size);
+        return table;
+    }
+    
+    /**
+     * Copy of this table with {@code task} inserted after the rows arriving
+     * no later than it, as if it came last in the input. Run state is not
+     * copied.
+     */
+    TaskTable withRowInserted(Task task) {
+        int row = insertionRow(task.getArrivalTime());
+        TaskTable table = new TaskTable(size + 1);
+        copyInputs(0, table, 0, row);
+        table.setRow(row, task.getId(), task.getName(), task.getArrivalTime(), task.getBurstTime(),
+            task.getDeadline(), task.getPriority());
+        copyInputs(row, table, row + 1, size - row);
+        return table;
+    }
+    
+    /** Copy of this table without {@code row}. Run state is not copied. */
+    TaskTable withRowRemoved(int row) {
+        TaskTable table = new TaskTable(size - 1);
+        copyInputs(0, table, 0, row);
+        copyInputs(row + 1, table, row, size - row - 1);
+        return table;
+    }
+    
+    /** Copy of this table with another burst time for {@code row}. Run state is not copied. */
+    TaskTable withBurstTime(int row, int burstTime) {
+        TaskTable table = new TaskTable(size);
+        copyInputs(0, table, 0, size);
+        table.burstTimes[row] = burstTime;
+        return table;
+    }
+    
+    /** First row arriving after {@code arrivalTime}. */
+    int insertionRow(int arrivalTime) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (arrivalTimes[mid] <= arrivalTime) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+    
+    /** First row holding task {@code id}, or -1. */
+    int rowOf(int id) {
+        for (int row = 0; row < size; row++) {
+            if (ids[row] == id) return row;
+        }
+        return -1;
+    }
+    
+    private void copyInputs(int from, TaskTable to, int toRow, int count) {
+        System.arraycopy(ids, from, to.ids, toRow, count);
+        System.arraycopy(names, from, to.names, toRow, count);
+        System.arraycopy(arrivalTimes, from, to.arrivalTimes, toRow, count);
+        System.arraycopy(burstTimes, from, to.burstTimes, toRow, count);
+        System.arraycopy(deadlines, from, to.deadlines, toRow, count);
+        System.arraycopy(priorities, from, to.priorities, toRow, count);
+    }
+    
+    /** Clears the run state so the table can be scheduled again. */
+    public void reset() {
+        if (frozen) {
+            throw new UnsupportedOperationException("Task table of a read-only result");
+        }
+        System.arraycopy(burstTimes, 0, remainingTimes, 0, size);
+        Arrays.fill(startTimes, -1);
+        Arrays.fill(completionTimes, -1);
+    }
+    
+    /** Makes {@link #reset()} fail, so a read-only result's run state stays put. */
+    void freeze() {
+        frozen = true;
+    }
+    
+    /**
+     * Rejects tables whose runs could pass {@link Integer#MAX_VALUE}, the
+     * last time a run can record. While work is ready some processor runs
+     * it, so no run ends later than the rows run back to back in arrival
+     * order; times inside a run then never overflow.
+     */
+    void checkTimeRange() {
+        long end = 0;
+        for (int row = 0; row < size; row++) {
+            end = endAfter(end, ids[row], arrivalTimes[row], burstTimes[row]);
+        }
+    }
+    
+    /**
+     * End of work ending at {@code end} followed by a task, the bound
+     * {@link #checkTimeRange()} adds up; throws if it passes {@link Integer#MAX_VALUE}.
+     */
+    static long endAfter(long end, int id, int arrivalTime, int burstTime) {
+        end = Math.max(end, arrivalTime) + Math.max(burstTime, 0);
+        if (end > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Task " + id + " could end past time " + Integer.MAX_VALUE);
+        }
+        return end;
+    }
+    
+    public int size() { return size; }
+    public int getId(int row) { return ids[row]; }
+    /** Name of the row, or null for a task loaded without one; {@link #toTask(int)} names those. */
+    public String getName(int row) { return names[row]; }
+    public int getArrivalTime(int row) { return arrivalTimes[row]; }
+    public int getBurstTime(int row) { return burstTimes[row]; }
+    public int getDeadline(int row) { return deadlines[row]; }
+    public int getPriority(int row) { return priorities[row]; }
+    public int getRemainingTime(int row) { return remainingTimes[row]; }
+    public int getStartTime(int row) { return startTimes[row]; }
+    public int getCompletionTime(int row) { return completionTimes[row]; }
+    
+    /**
+     * Deadlines with {@link Integer#MAX_VALUE} for rows that have none, the
+     * order earliest-deadline-first runs them in; built once per table, as
+     * the inputs never change after loading.
+     */
+    int[] effectiveDeadlines() {
+        if (effectiveDeadlines == null) {
+            int[] keys = new int[size];
+            for (int row = 0; row < size; row++) {
+                keys[row] = deadlines[row] > 0 ? deadlines[row] : Integer.MAX_VALUE;
+            }
+            effectiveDeadlines = keys;
+        }
+        return effectiveDeadlines;
+    }
+    
+    /** Materializes one row, including its run state, as a {@link Task}. */
+    public Task toTask(int row) {
+        Task task = new Task(ids[row], names[row], arrivalTimes[row], burstTimes[row],
+            deadlines[row], priorities[row]);
+        task.setRemainingTime(remainingTimes[row]);
+        task.setStartTime(startTimes[row]);
+        if (completionTimes[row] >= 0) {
+            task.setCompletionTime(completionTimes[row]);
+        }
+        return task;
+    }
+    
+    public List<Task> toTasks() {
+        List<Task> tasks = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            tasks.add(toTask(row));
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,323 @@
+package scheduler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Compact binary task trace, read through a memory-mapped file
+ *
+ * Task trace layout (little-endian):
+ * <pre>
+ *   header   int magic "CPUT", short version, short flags, long record count,
+ *            long dictionary offset, int dictionary size, int reserved  (32 bytes)
+ *   records  int id, arrival, burst, deadline, priority, name index     (24 bytes each)
+ *   names    per entry: int byte length, UTF-8 bytes
+ * </pre>
+ * A name index of -1 means the task has no name. Flag bit 0 marks records
+ * stored in non-decreasing arrival order, which is what the writer produces.
+ *
+ * Schedules are exported with the same header followed by fixed-width slot
+ * records (int task id, start, end, cpu; 16 bytes each) and the algorithm
+ * name, with magic "CPUS". The extra header int holds the CPU count.
+ *
+ * Opening a trace maps the record area and decodes the name dictionary
+ * without touching the records; they are read straight out of the mapping
+ * into {@link TaskTable} columns or streamed as {@link Task}s. A record whose
+ * name index lies outside the dictionary fails when it is decoded, with an
+ * {@link UncheckedIOException}.
+ */
+public final class TaskTrace implements Iterable<Task> {
+    static final int TASK_MAGIC = 0x43505554;     // "CPUT"
+    static final int SCHEDULE_MAGIC = 0x43505553; // "CPUS"
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int TASK_RECORD_SIZE = 24;
+    static final int SLOT_RECORD_SIZE = 16;
+    private static final short FLAG_ARRIVAL_ORDERED = 1;
+    
+    // Each mapping covers a whole number of records and stays under 2 GB
+    private static final int RECORDS_PER_CHUNK = (1 << 30) / TASK_RECORD_SIZE;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+    
+    private final ByteBuffer[] chunks;
+    private final long size;
+    private final boolean arrivalOrdered;
+    private final String[] names;
+    private final Path path;
+    
+    private TaskTrace(ByteBuffer[] chunks, long size, boolean arrivalOrdered, String[] names, Path path) {
+        this.chunks = chunks;
+        this.size = size;
+        this.arrivalOrdered = arrivalOrdered;
+        this.names = names;
+        this.path = path;
+    }
+    
+    /** Maps a task trace written by {@link #writeTasks}. */
+    public static TaskTrace open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            ByteBuffer header = readFully(channel, 0, HEADER_SIZE, path);
+            checkHeader(header, TASK_MAGIC, path);
+            short flags = header.getShort(6);
+            long count = header.getLong(8);
+            long dictionaryOffset = header.getLong(16);
+            int dictionarySize = header.getInt(24);
+            if (count < 0 || dictionarySize < 0
+                    || dictionaryOffset != HEADER_SIZE + count * TASK_RECORD_SIZE
+                    || dictionaryOffset > fileSize) {
+                throw new IOException("Corrupt task trace header: " + path);
+            }
+            
+            ByteBuffer[] chunks = new ByteBuffer[(int) ((count + RECORDS_PER_CHUNK - 1) / RECORDS_PER_CHUNK)];
+            for (int c = 0; c < chunks.length; c++) {
+                long first = (long) c * RECORDS_PER_CHUNK;
+                long records = Math.min(RECORDS_PER_CHUNK, count - first);
+                chunks[c] = channel.map(FileChannel.MapMode.READ_ONLY,
+                    HEADER_SIZE + first * TASK_RECORD_SIZE, records * TASK_RECORD_SIZE)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            }
+            
+            ByteBuffer dictionary = channel.map(FileChannel.MapMode.READ_ONLY,
+                dictionaryOffset, fileSize - dictionaryOffset).order(ByteOrder.LITTLE_ENDIAN);
+            String[] names = new String[dictionarySize];
+            byte[] scratch = new byte[64];
+            for (int i = 0; i < dictionarySize; i++) {
+                if (dictionary.remaining() < 4) {
+                    throw new IOException("Truncated name dictionary: " + path);
+                }
+                int length = dictionary.getInt();
+                if (length < 0 || length > dictionary.remaining()) {
+                    throw new IOException("Truncated name dictionary: " + path);
+                }
+                if (length > scratch.length) {
+                    scratch = new byte[Math.max(length, scratch.length * 2)];
+                }
+                dictionary.get(scratch, 0, length);
+                names[i] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+            }
+            return new TaskTrace(chunks, count, (flags & FLAG_ARRIVAL_ORDERED) != 0, names, path);
+        }
+    }
+    
+    public long size() { return size; }
+    public boolean isArrivalOrdered() { return arrivalOrdered; }
+    
+    /**
+     * Loads every record into a fresh {@link TaskTable}, reading the columns
+     * straight from the mapping. Names are shared with the dictionary, so no
+     * per-task strings or {@link Task} objects are created.
+     */
+    public TaskTable toTaskTable() {
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Trace too large for a single table: " + size + " tasks");
+        }
+        int n = (int) size;
+        TaskTable table = TaskTable.allocate(n);
+        if (arrivalOrdered) {
+            for (int i = 0; i < n; i++) {
+                fillRow(table, i, i);
+            }
+        } else {
+            // Stable sort by arrival: pack (arrival, record index) and sort primitives
+            long[] order = new long[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = ((long) readInt(i, 4) << 32) | i;
+            }
+            Arrays.sort(order);
+            for (int row = 0; row < n; row++) {
+                fillRow(table, row, (int) order[row]);
+            }
+        }
+        table.reset();
+        return table;
+    }
+    
+    /**
+     * Streams the records as {@link Task}s in file order, one object per task
+     * and nothing retained, for {@link StreamingScheduler}s. The trace must
+     * be arrival-ordered for that use.
+     */
+    @Override
+    public Iterator<Task> iterator() {
+        return new Iterator<Task>() {
+            private long next;
+            
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+            
+            @Override
+            public Task next() {
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                long i = next++;
+                return new Task(readInt(i, 0), nameOf(readInt(i, 20)), readInt(i, 4), readInt(i, 8),
+                    readInt(i, 12), readInt(i, 16));
+            }
+        };
+    }
+    
+    private void fillRow(TaskTable table, int row, long record) {
+        table.setRow(row, readInt(record, 0), nameOf(readInt(record, 20)), readInt(record, 4),
+            readInt(record, 8), readInt(record, 12), readInt(record, 16));
+    }
+    
+    private int readInt(long record, int field) {
+        ByteBuffer chunk = chunks[(int) (record / RECORDS_PER_CHUNK)];
+        return chunk.getInt((int) (record % RECORDS_PER_CHUNK) * TASK_RECORD_SIZE + field);
+    }
+    
+    private String nameOf(int index) {
+        if (index < -1 || index >= names.length) {
+            throw new UncheckedIOException(new IOException(
+                "Corrupt name index " + index + " of " + names.length + ": " + path));
+        }
+        return index >= 0 ? names[index] : null;
+    }
+    
+    /** Writes the table's tasks in row (arrival) order as a task trace. */
+    public static void writeTasks(Path path, TaskTable table) throws IOException {
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        int n = table.size();
+        try (FileChannel channel = openForWrite(path)) {
+            ByteBuffer buffer = newWriteBuffer();
+            buffer.position(HEADER_SIZE); // header goes in last, once the dictionary is known
+            for (int row = 0; row < n; row++) {
+                String name = table.getName(row);
+                int nameIndex = -1;
+                if (name != null) {
+                    Integer known = dictionary.get(name);
+                    if (known == null) {
+                        known = names.size();
+                        dictionary.put(name, known);
+                        names.add(name);
+                    }
+                    nameIndex = known;
+                }
+                ensureRoom(channel, buffer, TASK_RECORD_SIZE);
+                buffer.putInt(table.getId(row))
+                    .putInt(table.getArrivalTime(row))
+                    .putInt(table.getBurstTime(row))
+                    .putInt(table.getDeadline(row))
+                    .putInt(table.getPriority(row))
+                    .putInt(nameIndex);
+            }
+            for (String name : names) {
+                putString(channel, buffer, name);
+            }
+            flush(channel, buffer);
+            
+            ByteBuffer header = header(TASK_MAGIC, FLAG_ARRIVAL_ORDERED, n,
+                HEADER_SIZE + (long) n * TASK_RECORD_SIZE, names.size());
+            writeFully(channel, header, 0);
+        }
+    }
+    
+    public static void writeTasks(Path path, List<Task> tasks) throws IOException {
+        writeTasks(path, TaskTable.fromTasks(tasks));
+    }
+    
+    /**
+     * Exports a result's schedule as fixed-width slot records. Columnar
+     * results are written from their slot arrays without building
+     * {@link TimeSlot} objects.
+     */
+    public static void writeSchedule(Path path, SchedulingResult result) throws IOException {
+        int count = result.getSlotCount();
+        try (FileChannel channel = openForWrite(path)) {
+            ByteBuffer buffer = newWriteBuffer();
+            buffer.put(header(SCHEDULE_MAGIC, (short) 0, count,
+                HEADER_SIZE + (long) count * SLOT_RECORD_SIZE, result.getCpuCount()));
+            for (int i = 0; i < count; i++) {
+                ensureRoom(channel, buffer, SLOT_RECORD_SIZE);
+                buffer.putInt(result.getSlotTaskId(i))
+                    .putInt(result.getSlotStart(i))
+                    .putInt(result.getSlotEnd(i))
+                    .putInt(result.getSlotCpu(i));
+            }
+            putString(channel, buffer, result.getAlgorithmName());
+            flush(channel, buffer);
+        }
+    }
+    
+    private static ByteBuffer header(int magic, short flags, long count, long trailerOffset, int extra) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(magic).putShort(VERSION).putShort(flags).putLong(count)
+            .putLong(trailerOffset).putInt(extra).putInt(0);
+        header.flip();
+        return header;
+    }
+    
+    private static void checkHeader(ByteBuffer header, int magic, Path path) throws IOException {
+        if (header.getInt(0) != magic) {
+            throw new IOException("Not a task trace: " + path);
+        }
+        short version = header.getShort(4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported trace version " + version + ": " + path);
+        }
+    }
+    
+    private static FileChannel openForWrite(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+    }
+    
+    private static ByteBuffer newWriteBuffer() {
+        return ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    }
+    
+    private static void putString(FileChannel channel, ByteBuffer buffer, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ensureRoom(channel, buffer, 4);
+        buffer.putInt(bytes.length);
+        for (int offset = 0; offset < bytes.length; ) {
+            ensureRoom(channel, buffer, 1);
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+    
+    private static void ensureRoom(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush(channel, buffer);
+        }
+    }
+    
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+    
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+    
+    private static ByteBuffer readFully(FileChannel channel, long position, int length, Path path)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Truncated trace: " + path);
+            }
+        }
+        return buffer;
+    }
+}
@@ -7,21 +7,28 @@ public class TimeSlot {
     private Task task;
     private int startTime;
     private int endTime;
+    private int cpuId;
     
     public TimeSlot(Task task, int startTime, int endTime) {
+        this(task, startTime, endTime, 0);
+    }
+    
+    public TimeSlot(Task task, int startTime, int endTime, int cpuId) {
         this.task = task;
         this.startTime = startTime;
         this.endTime = endTime;
+        this.cpuId = cpuId;
     }
     
     public Task getTask() { return task; }
     public int getStartTime() { return startTime; }
     public int getEndTime() { return endTime; }
     public int getDuration() { return endTime - startTime; }
+    /** Processor the slot ran on; always 0 for single-CPU schedulers. */
+    public int getCpuId() { return cpuId; }
     
     @Override
     public String toString() {
         return String.format("[%d-%d: %s]", startTime, endTime, task.getName());
     }
 }
-
@@ -0,0 +1,335 @@
+package scheduler;
+
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Seeded synthetic workload generator for load testing
+ *
+ * Produces tasks in arrival order, one at a time, so a workload of millions
+ * of tasks can be fed to a {@link StreamingScheduler} without ever being
+ * held in memory; {@link #generate(int)} and {@link #generateTable(int)}
+ * materialize it for the batch schedulers. The same seed and settings
+ * always give the same workload.
+ *
+ * Arrivals are spaced so that the offered load matches the target
+ * utilization: with the default mean burst of 50 and utilization of 0.9,
+ * a task arrives every 55.6 time units on average. Every burst distribution
+ * is parameterised to that mean, so the load stays put when switching to a
+ * heavy-tailed one.
+ */
+public final class WorkloadGenerator {
+    
+    /** How arrival times are spread. */
+    public enum ArrivalProcess {
+        /** Independent uniform arrivals over the whole horizon, generated in sorted order. */
+        UNIFORM,
+        /** Poisson process: exponential gaps between consecutive arrivals. */
+        POISSON,
+        /** Bursts of closely spaced arrivals separated by idle gaps, at the same mean rate. */
+        BURSTY,
+        /** Groups of {@link #BATCH_SIZE} tasks arriving at the same instant. */
+        BATCHED
+    }
+    
+    /** Distribution of burst times, all with the configured mean. */
+    public enum BurstDistribution {
+        UNIFORM,
+        EXPONENTIAL,
+        /** Pareto with shape 1.5: finite mean, infinite variance. */
+        PARETO,
+        /** Lognormal with sigma 1. */
+        LOGNORMAL
+    }
+    
+    /** Slack between the earliest possible completion and the deadline. */
+    public enum DeadlineSlack {
+        /** No deadlines. */
+        NONE,
+        /** Slack of up to one burst. */
+        TIGHT,
+        /** Deadline 2 to 10 bursts after arrival. */
+        LOOSE
+    }
+    
+    static final int BATCH_SIZE = 1000;
+    private static final int MEAN_BURST_SIZE = 20;         // tasks per burst in BURSTY mode
+    private static final double BURST_GAP_FRACTION = 0.1;  // in-burst gaps relative to the mean gap
+    private static final double PARETO_SHAPE = 1.5;
+    private static final double LOGNORMAL_SIGMA = 1.0;
+    private static final int MAX_BURST = 1_000_000;        // caps heavy-tailed samples
+    
+    private final long seed;
+    private ArrivalProcess arrivals = ArrivalProcess.POISSON;
+    private BurstDistribution bursts = BurstDistribution.EXPONENTIAL;
+    private DeadlineSlack deadlines = DeadlineSlack.NONE;
+    private double meanBurst = 50;
+    private double utilization = 0.9;
+    private double[] priorityWeights = uniformWeights(10);
+    
+    public WorkloadGenerator(long seed) {
+        this.seed = seed;
+    }
+    
+    public WorkloadGenerator arrivals(ArrivalProcess arrivals) {
+        this.arrivals = Objects.requireNonNull(arrivals);
+        return this;
+    }
+    
+    public WorkloadGenerator bursts(BurstDistribution bursts) {
+        this.bursts = Objects.requireNonNull(bursts);
+        return this;
+    }
+    
+    public WorkloadGenerator deadlines(DeadlineSlack deadlines) {
+        this.deadlines = Objects.requireNonNull(deadlines);
+        return this;
+    }
+    
+    public WorkloadGenerator meanBurst(double meanBurst) {
+        if (!(meanBurst >= 1)) {
+            throw new IllegalArgumentException("Mean burst must be at least 1: " + meanBurst);
+        }
+        this.meanBurst = meanBurst;
+        return this;
+    }
+    
+    /** Offered load of a single CPU; above 1 the ready queue grows without bound. */
+    public WorkloadGenerator utilization(double utilization) {
+        if (!(utilization > 0)) {
+            throw new IllegalArgumentException("Utilization must be positive: " + utilization);
+        }
+        this.utilization = utilization;
+        return this;
+    }
+    
+    /** Evenly spread priorities 0 (highest) to {@code levels - 1}. */
+    public WorkloadGenerator priorityLevels(int levels) {
+        if (levels < 1) {
+            throw new IllegalArgumentException("Need at least one priority level: " + levels);
+        }
+        this.priorityWeights = uniformWeights(levels);
+        return this;
+    }
+    
+    /**
+     * Priority mix: priority {@code i} is drawn with probability proportional
+     * to {@code weights[i]}, e.g. {@code {1, 8, 1}} for mostly normal tasks.
+     */
+    public WorkloadGenerator priorityWeights(double... weights) {
+        if (weights.length == 0) {
+            throw new IllegalArgumentException("Need at least one priority weight");
+        }
+        double total = 0;
+        for (double weight : weights) {
+            if (!(weight >= 0)) {
+                throw new IllegalArgumentException("Weights must not be negative: " + Arrays.toString(weights));
+            }
+            total += weight;
+        }
+        if (!(total > 0)) {
+            throw new IllegalArgumentException("Weights must not all be zero");
+        }
+        this.priorityWeights = weights.clone();
+        return this;
+    }
+    
+    /** Lazily generates {@code count} tasks in arrival order, ids 1 to {@code count}. */
+    public Iterator<Task> iterator(int count) {
+        Cursor cursor = new Cursor(count);
+        return new Iterator<Task>() {
+            @Override
+            public boolean hasNext() {
+                return cursor.hasNext();
+            }
+            
+            @Override
+            public Task next() {
+                if (!cursor.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                cursor.advance();
+                return new Task(cursor.id, "T" + cursor.id, cursor.arrival, cursor.burst,
+                    cursor.deadline, cursor.priority);
+            }
+        };
+    }
+    
+    public Stream<Task> stream(int count) {
+        Spliterator<Task> spliterator = Spliterators.spliterator(iterator(count), count,
+            Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+        return StreamSupport.stream(spliterator, false);
+    }
+    
+    public List<Task> generate(int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        iterator(count).forEachRemaining(tasks::add);
+        return tasks;
+    }
+    
+    /** Generates straight into a columnar table, without per-task objects besides the names. */
+    public TaskTable generateTable(int count) {
+        TaskTable table = TaskTable.allocate(count);
+        Cursor cursor = new Cursor(count);
+        for (int row = 0; row < count; row++) {
+            cursor.advance();
+            table.setRow(row, cursor.id, "T" + cursor.id, cursor.arrival, cursor.burst, cursor.deadline,
+                cursor.priority);
+        }
+        table.reset();
+        return table;
+    }
+    
+    private static double[] uniformWeights(int levels) {
+        double[] weights = new double[levels];
+        Arrays.fill(weights, 1);
+        return weights;
+    }
+    
+    /** Generation state; each call to {@link #advance()} produces the next task. */
+    private final class Cursor {
+        private final int count;
+        private final SplittableRandom random = new SplittableRandom(seed);
+        private final double meanGap = meanBurst / utilization;
+        private final double[] cumulativeWeights;
+        private final ArrivalProcess arrivalProcess = arrivals;
+        private final BurstDistribution burstDistribution = bursts;
+        private final DeadlineSlack deadlineSlack = deadlines;
+        private final double mean = meanBurst;
+        private double clock;          // arrival time of the previous task
+        private double uniformFraction; // previous order statistic in UNIFORM mode
+        private int leftInBurst;
+        
+        int id;
+        int arrival;
+        int burst;
+        int deadline;
+        int priority;
+        
+        Cursor(int count) {
+            if (count < 0) {
+                throw new IllegalArgumentException("Task count must not be negative: " + count);
+            }
+            this.count = count;
+            cumulativeWeights = new double[priorityWeights.length];
+            double total = 0;
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                total += priorityWeights[i];
+                cumulativeWeights[i] = total;
+            }
+        }
+        
+        boolean hasNext() {
+            return id < count;
+        }
+        
+        void advance() {
+            arrival = nextArrival();
+            burst = nextBurst();
+            deadline = nextDeadline();
+            priority = nextPriority();
+            id++;
+        }
+        
+        private int nextArrival() {
+            switch (arrivalProcess) {
+                case UNIFORM:
+                    // Sequential order statistics: the next of the remaining
+                    // (count - id) uniforms above the previous one is its minimum
+                    double minimum = 1 - Math.pow(1 - random.nextDouble(), 1.0 / (count - id));
+                    uniformFraction += (1 - uniformFraction) * minimum;
+                    clock = uniformFraction * count * meanGap;
+                    break;
+                case POISSON:
+                    clock += exponential(meanGap);
+                    break;
+                case BURSTY:
+                    if (leftInBurst == 0) {
+                        // Geometric burst length with mean MEAN_BURST_SIZE
+                        leftInBurst = 1 + (int) (Math.log(1 - random.nextDouble())
+                            / Math.log(1 - 1.0 / MEAN_BURST_SIZE));
+                        clock += exponential(MEAN_BURST_SIZE * meanGap * (1 - BURST_GAP_FRACTION));
+                    }
+                    leftInBurst--;
+                    clock += exponential(meanGap * BURST_GAP_FRACTION);
+                    break;
+                case BATCHED:
+                    clock = (double) (id / BATCH_SIZE) * BATCH_SIZE * meanGap;
+                    break;
+                default:
+                    throw new AssertionError(arrivalProcess);
+            }
+            return (int) Math.min(clock, Integer.MAX_VALUE);
+        }
+        
+        private int nextBurst() {
+            double value;
+            switch (burstDistribution) {
+                case UNIFORM:
+                    value = 1 + random.nextDouble() * (2 * mean - 2);
+                    break;
+                case EXPONENTIAL:
+                    value = 1 + exponential(mean - 1);
+                    break;
+                case PARETO:
+                    double scale = mean * (PARETO_SHAPE - 1) / PARETO_SHAPE;
+                    value = scale / Math.pow(1 - random.nextDouble(), 1 / PARETO_SHAPE);
+                    break;
+                case LOGNORMAL:
+                    double mu = Math.log(mean) - LOGNORMAL_SIGMA * LOGNORMAL_SIGMA / 2;
+                    value = Math.exp(mu + LOGNORMAL_SIGMA * gaussian());
+                    break;
+                default:
+                    throw new AssertionError(burstDistribution);
+            }
+            return (int) Math.max(1, Math.min(Math.round(value), MAX_BURST));
+        }
+        
+        private int nextDeadline() {
+            long value;
+            switch (deadlineSlack) {
+                case NONE:
+                    return -1;
+                case TIGHT:
+                    value = (long) arrival + burst + random.nextInt(burst + 1);
+                    break;
+                case LOOSE:
+                    value = (long) arrival + (long) burst * (2 + random.nextInt(9));
+                    break;
+                default:
+                    throw new AssertionError(deadlineSlack);
+            }
+            return (int) Math.min(value, Integer.MAX_VALUE);
+        }
+        
+        // First level whose cumulative weight exceeds a uniform pick, so zero-weight levels are never drawn
+        private int nextPriority() {
+            int last = cumulativeWeights.length - 1;
+            if (last == 0) return 0;
+            double pick = random.nextDouble() * cumulativeWeights[last];
+            int lo = 0;
+            int hi = last;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (cumulativeWeights[mid] > pick) {
+                    hi = mid;
+                } else {
+                    lo = mid + 1;
+                }
+            }
+            return lo;
+        }
+        
+        private double exponential(double mean) {
+            return -mean * Math.log(1 - random.nextDouble());
+        }
+        
+        // Box-Muller; one of the pair is dropped to keep the cursor state small
+        private double gaussian() {
+            double u = 1 - random.nextDouble();
+            double v = random.nextDouble();
+            return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * v);
+        }
+    }
+}